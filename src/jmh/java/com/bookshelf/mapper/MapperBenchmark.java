@@ -0,0 +1,82 @@
+package com.bookshelf.mapper;
+
+import com.bookshelf.dto.book.response.BookDto;
+import com.bookshelf.dto.cart.response.CartDto;
+import com.bookshelf.dto.cart.response.CartItemDto;
+import com.bookshelf.mapper.impl.BookMapperImpl;
+import com.bookshelf.mapper.impl.CartItemMapperImpl;
+import com.bookshelf.mapper.impl.CartMapperImpl;
+import com.bookshelf.model.Book;
+import com.bookshelf.model.Category;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private BookMapper bookMapper;
+    private CartMapper cartMapper;
+    private Book book;
+    private List<CartItemDto> cartItems;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapperImpl();
+        cartMapper = new CartMapperImpl(new CartItemMapperImpl(bookMapper));
+        book = createBook(1L);
+        book.setCategories(LongStream.rangeClosed(1, size)
+                .mapToObj(Category::new)
+                .collect(Collectors.toCollection(HashSet::new)));
+        cartItems = LongStream.rangeClosed(1, size)
+                .mapToObj(this::createCartItem)
+                .toList();
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public CartDto cartItemsToCartDto() {
+        return cartMapper.toCartDto(1L, cartItems);
+    }
+
+    private CartItemDto createCartItem(long id) {
+        Book book = createBook(id);
+        return new CartItemDto(id, book.getId(), book.getTitle(), book.getPrice(), (int) id, 0L);
+    }
+
+    private Book createBook(long id) {
+        Book book = new Book(id);
+        book.setTitle("Title " + id);
+        book.setAuthor("Author " + id);
+        book.setIsbn("978-16-1729-" + id);
+        book.setPrice(BigDecimal.valueOf(id, 2));
+        book.setCategories(Set.of());
+        return book;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bookshelf.repository.book;
+
+import com.bookshelf.dto.book.request.BookSearchParameters;
+import com.bookshelf.model.Book;
+import com.bookshelf.repository.book.spec.AuthorSpecificationProvider;
+import com.bookshelf.repository.book.spec.IsbnSpecificationProvider;
+import com.bookshelf.repository.book.spec.PriceSpecificationProvider;
+import com.bookshelf.repository.book.spec.TitleSpecificationProvider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class BookSpecificationBuilderBenchmark {
+    private BookSpecificationBuilder bookSpecificationBuilder;
+    private BookSearchParameters allParameters;
+    private BookSearchParameters noParameters;
+
+    @Setup
+    public void setUp() {
+        bookSpecificationBuilder = new BookSpecificationBuilder(
+                new BookSpecificationProviderManager(List.of(
+                        new TitleSpecificationProvider(),
+                        new AuthorSpecificationProvider(),
+                        new IsbnSpecificationProvider(),
+                        new PriceSpecificationProvider())));
+        allParameters = new BookSearchParameters();
+        allParameters.setTitles(new String[]{"Title 1", "Title 2"});
+        allParameters.setAuthors(new String[]{"Author 1"});
+        allParameters.setIsbn(new String[]{"978-1569319017"});
+        allParameters.setPrice(new String[]{"10", "20"});
+        noParameters = new BookSearchParameters();
+    }
+
+    @Benchmark
+    public Specification<Book> buildWithAllParameters() {
+        return bookSpecificationBuilder.build(allParameters);
+    }
+
+    @Benchmark
+    public Specification<Book> buildWithoutParameters() {
+        return bookSpecificationBuilder.build(noParameters);
+    }
+}
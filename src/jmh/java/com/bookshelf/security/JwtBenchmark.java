@@ -0,0 +1,80 @@
+package com.bookshelf.security;
+
+import com.bookshelf.model.Role;
+import com.bookshelf.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private static final String SECRET =
+            "theyCallMeCubanPeteImTheKingOfTheRumbaBeatWhenIPlayTheMaracasIGoChickChickyBoom";
+    private static final long EXPIRATION = 300000000L;
+    private static final long VERIFIED_CACHE_SIZE = 10000;
+
+    private JwtUtil jwtUtil;
+    private Key key;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, VERIFIED_CACHE_SIZE);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Role role = new Role();
+        role.setName(Role.RoleName.ROLE_USER);
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@gmail.com");
+        user.setRoles(Set.of(role));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public User verifyAndGetPrincipal() {
+        return jwtUtil.getPrincipal(jwtUtil.verify(token));
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public void validateAndParseAgain(Blackhole blackhole) {
+        blackhole.consume(parseOnce().getExpiration());
+        blackhole.consume(parseOnce().getSubject());
+    }
+}
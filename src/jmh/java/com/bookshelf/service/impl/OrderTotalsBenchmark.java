@@ -0,0 +1,60 @@
+package com.bookshelf.service.impl;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.CartItem;
+import com.bookshelf.model.Order;
+import com.bookshelf.model.User;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class OrderTotalsBenchmark {
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private final User user = new User();
+
+    private List<CartItem> cartItems;
+
+    @Setup
+    public void setUp() {
+        user.setId(1L);
+        cartItems = LongStream.rangeClosed(1, size)
+                .mapToObj(this::createCartItem)
+                .toList();
+    }
+
+    @Benchmark
+    public BigDecimal formOrder() {
+        Order order = OrderServiceImpl.formOrder(user, cartItems, "Synthetic street");
+        return order.getTotal();
+    }
+
+    private CartItem createCartItem(long id) {
+        Book book = new Book(id);
+        book.setPrice(BigDecimal.valueOf(id * 1999, 2));
+        CartItem cartItem = new CartItem();
+        cartItem.setId(id);
+        cartItem.setBook(book);
+        cartItem.setQuantity((int) (id % 5) + 1);
+        return cartItem;
+    }
+}
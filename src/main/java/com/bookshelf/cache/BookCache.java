@@ -0,0 +1,69 @@
+package com.bookshelf.cache;
+
+import com.bookshelf.dto.book.response.BookDto;
+import com.bookshelf.event.BookChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class BookCache implements InvalidationSubscriber {
+    private final Cache<Long, BookDto> books;
+    private final Cache<Long, Boolean> existence;
+
+    public BookCache(@Value("${cache.books.maximum-size:10000}") long maximumSize,
+                     @Value("${cache.books.expire-after-write:600000}") long expireAfterWrite) {
+        books = newCache(maximumSize, expireAfterWrite);
+        existence = newCache(maximumSize, expireAfterWrite);
+    }
+
+    public BookDto getBook(Long id, Function<Long, BookDto> loader) {
+        return books.get(id, loader);
+    }
+
+    public boolean exists(Long id, Predicate<Long> loader) {
+        return existence.get(id, loader::test);
+    }
+
+    public void evict(Long id) {
+        books.invalidate(id);
+        existence.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        evict(event.bookId());
+    }
+
+    @Override
+    public void invalidate(CacheRegion region, Set<Long> keys) {
+        if (region == CacheRegion.BOOK) {
+            keys.forEach(this::evict);
+        } else if (region == CacheRegion.CATEGORY) {
+            books.invalidateAll();
+        }
+    }
+
+    public CacheStats getBookStats() {
+        return books.stats();
+    }
+
+    public CacheStats getExistenceStats() {
+        return existence.stats();
+    }
+
+    private <V> Cache<Long, V> newCache(long maximumSize, long expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWrite))
+                .recordStats()
+                .build();
+    }
+}
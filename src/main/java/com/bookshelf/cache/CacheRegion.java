@@ -0,0 +1,7 @@
+package com.bookshelf.cache;
+
+public enum CacheRegion {
+    BOOK,
+    CATEGORY,
+    USER
+}
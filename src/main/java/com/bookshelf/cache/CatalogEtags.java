@@ -0,0 +1,68 @@
+package com.bookshelf.cache;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@Component
+public class CatalogEtags {
+    private static final String CATALOG = "catalog";
+    private static final String SEPARATOR = "-";
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final CatalogGeneration catalogGeneration;
+    private final String cacheControl;
+
+    public CatalogEtags(CatalogGeneration catalogGeneration,
+                        @Value("${catalog.http-cache.max-age:60}") long maxAge) {
+        this.catalogGeneration = catalogGeneration;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAge))
+                .cachePrivate()
+                .mustRevalidate()
+                .getHeaderValue();
+    }
+
+    public boolean isCatalogNotModified(ServletWebRequest request) {
+        return isNotModified(request, CATALOG + SEPARATOR + catalogGeneration.current());
+    }
+
+    public boolean isNotModified(
+            ServletWebRequest request, String resource, Long id, long version) {
+        return isNotModified(request, resource + SEPARATOR + id + SEPARATOR + version);
+    }
+
+    private boolean isNotModified(ServletWebRequest request, String etag) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return request.checkNotModified(etag);
+    }
+
+    public boolean isConditional(ServletWebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    public Long expectedVersion(String ifMatch, String resource, Long id) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith(WEAK_PREFIX)) {
+            etag = etag.substring(WEAK_PREFIX.length());
+        }
+        String prefix = QUOTE + resource + SEPARATOR + id + SEPARATOR;
+        if (!etag.startsWith(prefix) || !etag.endsWith(QUOTE)
+                || etag.length() <= prefix.length()) {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+}
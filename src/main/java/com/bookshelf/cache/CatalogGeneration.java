@@ -0,0 +1,44 @@
+package com.bookshelf.cache;
+
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.event.CategoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogGeneration {
+    private static final String FIND_CURRENT =
+            "SELECT generation FROM catalog_generation WHERE id = 1";
+    private static final String ADVANCE =
+            "UPDATE catalog_generation SET generation = generation + 1 WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public long current() {
+        return jdbcTemplate.queryForObject(FIND_CURRENT, Long.class);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void advance() {
+        jdbcTemplate.update(ADVANCE);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        jdbcTemplate.update(ADVANCE);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        jdbcTemplate.update(ADVANCE);
+    }
+}
@@ -0,0 +1,4 @@
+package com.bookshelf.cache;
+
+public record Invalidation(CacheRegion region, Long key) {
+}
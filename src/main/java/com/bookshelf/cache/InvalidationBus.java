@@ -0,0 +1,85 @@
+package com.bookshelf.cache;
+
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.event.CategoryChangedEvent;
+import com.bookshelf.event.UserChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class InvalidationBus {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Invalidation> pending = ConcurrentHashMap.newKeySet();
+    private final InvalidationTransport transport;
+    private final List<InvalidationSubscriber> subscribers;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        publish(CacheRegion.BOOK, event.bookId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        dispatch(List.of(new Invalidation(CacheRegion.CATEGORY, event.categoryId())));
+        publish(CacheRegion.CATEGORY, event.categoryId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        dispatch(List.of(new Invalidation(CacheRegion.USER, event.userId())));
+        publish(CacheRegion.USER, event.userId());
+    }
+
+    public void publish(CacheRegion region, Long key) {
+        pending.add(new Invalidation(region, key));
+    }
+
+    public void invalidateAll(CacheRegion region, Collection<Long> keys) {
+        List<Invalidation> invalidations = keys.stream()
+                .map(key -> new Invalidation(region, key))
+                .toList();
+        dispatch(invalidations);
+        pending.addAll(invalidations);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${cache.invalidation.flush-interval:200}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Invalidation> batch = new ArrayList<>(pending);
+        pending.removeAll(batch);
+        try {
+            transport.send(nodeId, batch);
+        } catch (RuntimeException e) {
+            pending.addAll(batch);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:1000}")
+    public void poll() {
+        dispatch(transport.receive(nodeId));
+    }
+
+    private void dispatch(List<Invalidation> invalidations) {
+        Map<CacheRegion, Set<Long>> keysByRegion = invalidations.stream()
+                .collect(Collectors.groupingBy(Invalidation::region,
+                        Collectors.mapping(Invalidation::key, Collectors.toSet())));
+        keysByRegion.forEach((region, keys) -> subscribers
+                .forEach(subscriber -> subscriber.invalidate(region, keys)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.bookshelf.cache;
+
+import java.util.Set;
+
+public interface InvalidationSubscriber {
+    void invalidate(CacheRegion region, Set<Long> keys);
+}
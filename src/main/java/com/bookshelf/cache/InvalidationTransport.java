@@ -0,0 +1,10 @@
+package com.bookshelf.cache;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface InvalidationTransport {
+    void send(String nodeId, Collection<Invalidation> invalidations);
+
+    List<Invalidation> receive(String nodeId);
+}
@@ -0,0 +1,115 @@
+package com.bookshelf.cache;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JdbcInvalidationTransport implements InvalidationTransport {
+    private static final String INSERT = "INSERT INTO cache_invalidations "
+            + "(node_id, region, cache_key, created_at) VALUES (?, ?, ?, ?)";
+    private static final String FIND_AFTER = "SELECT id, node_id, region, cache_key "
+            + "FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String FIND_BY_IDS = "SELECT id, node_id, region, cache_key "
+            + "FROM cache_invalidations WHERE id IN (%s) ORDER BY id";
+    private static final String FIND_LAST_ID = "SELECT COALESCE(MAX(id), 0) "
+            + "FROM cache_invalidations";
+    private static final String DELETE_BEFORE = "DELETE FROM cache_invalidations "
+            + "WHERE created_at < ?";
+    private static final String PLACEHOLDER = "?";
+    private static final String PLACEHOLDER_SEPARATOR = ", ";
+    private static final int RECEIVE_BATCH_SIZE = 1000;
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final Duration gapTimeout;
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+    private long lastId;
+
+    public JdbcInvalidationTransport(
+            JdbcTemplate jdbcTemplate,
+            @Value("${cache.invalidation.retention:3600000}") long retention,
+            @Value("${cache.invalidation.gap-timeout:60000}") long gapTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = Duration.ofMillis(retention);
+        this.gapTimeout = Duration.ofMillis(gapTimeout);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        lastId = jdbcTemplate.queryForObject(FIND_LAST_ID, Long.class);
+        gaps.clear();
+    }
+
+    @Override
+    public void send(String nodeId, Collection<Invalidation> invalidations) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, invalidations, invalidations.size(),
+                (statement, invalidation) -> {
+                    statement.setString(1, nodeId);
+                    statement.setString(2, invalidation.region().name());
+                    statement.setLong(3, invalidation.key());
+                    statement.setTimestamp(4, createdAt);
+                });
+    }
+
+    @Override
+    public synchronized List<Invalidation> receive(String nodeId) {
+        Instant now = Instant.now();
+        List<Invalidation> invalidations = new ArrayList<>();
+        receiveGaps(nodeId, invalidations);
+        jdbcTemplate.query(FIND_AFTER, resultSet -> {
+            long id = resultSet.getLong("id");
+            for (long gap = Math.max(lastId + 1, id - MAX_TRACKED_GAPS); gap < id; gap++) {
+                gaps.put(gap, now);
+            }
+            lastId = id;
+            addForeign(nodeId, resultSet, invalidations);
+        }, lastId, RECEIVE_BATCH_SIZE);
+        gaps.values().removeIf(noticedAt -> noticedAt.isBefore(now.minus(gapTimeout)));
+        while (gaps.size() > MAX_TRACKED_GAPS) {
+            gaps.pollFirstEntry();
+        }
+        return invalidations;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.retention:3600000}")
+    public void deleteExpired() {
+        jdbcTemplate.update(DELETE_BEFORE, Timestamp.from(Instant.now().minus(retention)));
+    }
+
+    private void receiveGaps(String nodeId, List<Invalidation> invalidations) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        String query = String.format(FIND_BY_IDS, String.join(PLACEHOLDER_SEPARATOR,
+                Collections.nCopies(gaps.size(), PLACEHOLDER)));
+        jdbcTemplate.query(query, resultSet -> {
+            gaps.remove(resultSet.getLong("id"));
+            addForeign(nodeId, resultSet, invalidations);
+        }, gaps.keySet().toArray());
+    }
+
+    private void addForeign(String nodeId, ResultSet resultSet, List<Invalidation> invalidations)
+            throws SQLException {
+        if (!nodeId.equals(resultSet.getString("node_id"))) {
+            invalidations.add(new Invalidation(
+                    CacheRegion.valueOf(resultSet.getString("region")),
+                    resultSet.getLong("cache_key")));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookshelf.config;
+
+import com.bookshelf.reactive.ReactiveAuthenticationFilter;
+import com.bookshelf.reactive.ReactiveBookRepository;
+import com.bookshelf.reactive.ReactiveCatalogHandler;
+import com.bookshelf.reactive.ReactiveCatalogServer;
+import com.bookshelf.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@ConditionalOnProperty(name = ReactiveCatalogConfig.ENABLED, havingValue = "true")
+public class ReactiveCatalogConfig {
+    public static final String ENABLED = "reactive.server.enabled";
+
+    @Bean
+    public ReactiveBookRepository reactiveBookRepository(
+            @Value("${reactive.r2dbc.url}") String url,
+            @Value("${reactive.r2dbc.username}") String username,
+            @Value("${reactive.r2dbc.password}") String password,
+            @Value("${reactive.r2dbc.pool.max-size:20}") int maxSize,
+            @Value("${reactive.r2dbc.pool.max-acquire-time:2000}") long maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ReactiveBookRepository(new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTime))
+                .build()));
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveCatalogRoutes(
+            ReactiveBookRepository reactiveBookRepository,
+            JwtUtil jwtUtil,
+            @Value("${reactive.server.base-path:}") String basePath) {
+        ReactiveCatalogHandler handler = new ReactiveCatalogHandler(reactiveBookRepository);
+        return RouterFunctions.route()
+                .GET(basePath + "/books", handler::getAll)
+                .GET(basePath + "/books/{id}", handler::getBookById)
+                .GET(basePath + "/categories/{id}/books", handler::getBooksByCategoryId)
+                .filter(new ReactiveAuthenticationFilter(jwtUtil))
+                .onError(IllegalArgumentException.class, (e, request) ->
+                        ReactiveCatalogHandler.error(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onError(DataAccessResourceFailureException.class, (e, request) ->
+                        ReactiveCatalogHandler.error(HttpStatus.SERVICE_UNAVAILABLE,
+                                "Catalog is busy, try again later"))
+                .build();
+    }
+
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(
+            RouterFunction<ServerResponse> reactiveCatalogRoutes,
+            ObjectMapper objectMapper,
+            @Value("${reactive.server.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs()
+                            .jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs()
+                            .jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveCatalogServer(
+                RouterFunctions.toHttpHandler(reactiveCatalogRoutes, strategies), port);
+    }
+}
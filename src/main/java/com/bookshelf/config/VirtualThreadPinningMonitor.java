@@ -0,0 +1,67 @@
+package com.bookshelf.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = VirtualThreadConfig.ENABLED, havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int REPORTED_FRAMES = 12;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final Duration threshold;
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-threads.pinned-threshold:20}") long threshold) {
+        this.threshold = Duration.ofMillis(threshold);
+    }
+
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT)
+                .withThreshold(threshold)
+                .withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::report);
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        recording.close();
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        String frames = event.getStackTrace() == null
+                ? "no stack trace"
+                : event.getStackTrace().getFrames().stream()
+                        .limit(REPORTED_FRAMES)
+                        .map(this::toString)
+                        .collect(Collectors.joining("\n\tat "));
+        log.warn("Virtual thread pinned its carrier for {} ms\n\tat {}",
+                event.getDuration().toMillis(), frames);
+    }
+
+    private String toString(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
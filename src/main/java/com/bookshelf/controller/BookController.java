@@ -1,21 +1,38 @@
 package com.bookshelf.controller;
 
+import com.bookshelf.cache.CatalogEtags;
 import com.bookshelf.dto.book.request.BookSearchParameters;
 import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.dto.book.response.BookCursorPageDto;
 import com.bookshelf.dto.book.response.BookDto;
+import com.bookshelf.dto.book.response.BookImportReportDto;
+import com.bookshelf.dto.book.response.BookSuggestionDto;
+import com.bookshelf.importing.BookImportFormat;
 import com.bookshelf.res.Openapi;
+import com.bookshelf.service.BookImportService;
 import com.bookshelf.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,9 +40,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @Tag(name = "Books", description = "Operations related to books")
 @RequiredArgsConstructor
@@ -36,10 +57,34 @@ public class BookController {
 
     private static final String BOOK_NOT_FOUND_EXAMPLE = Openapi.OBJECT_NOT_FOUND_EXAMPLE;
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
+    private static final String BOOK_RESOURCE = "book";
+
+    private static final String GZIP = "gzip";
+
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
+    private static final int LINE_SEPARATOR = '\n';
+
     private final BookService bookService;
 
+    private final BookImportService bookImportService;
+
+    private final ObjectMapper objectMapper;
+
+    private final CatalogEtags catalogEtags;
+
+    @Value("${books.export.timeout:3600000}")
+    private long exportTimeout;
+
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "List of books retrieved successfully"),
+        @ApiResponse(responseCode = "304",
+            description = "Catalog wasn't changed since the provided ETag",
+            content = {@Content()}),
         @ApiResponse(responseCode = "401",
             description = "User should be authenticated to do this operation",
             content = {@Content()}),
@@ -52,12 +97,83 @@ public class BookController {
     @GetMapping
     @Operation(summary = "Get list of all books",
             description = "Returns a list of books based on the provided paging information")
-    public List<BookDto> getAll(Pageable pageable) {
+    public List<BookDto> getAll(Pageable pageable, ServletWebRequest request) {
+        if (catalogEtags.isCatalogNotModified(request)) {
+            return null;
+        }
         return bookService.findAll(pageable);
     }
 
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of books retrieved successfully"),
+        @ApiResponse(responseCode = "304",
+            description = "Catalog wasn't changed since the provided ETag",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "400", description = "Incorrect cursor was provided",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
+        @ApiResponse(responseCode = "401",
+            description = "User should be authenticated to do this operation",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            )
+    })
+    @GetMapping(params = "after")
+    @Operation(summary = "Get list of books by cursor",
+            description = "Returns a page of books which follow the provided cursor. "
+                    + "Empty cursor starts from the beginning, cursor of the next page "
+                    + "is returned in the " + NEXT_CURSOR_HEADER + " header")
+    public ResponseEntity<List<BookDto>> getAllAfter(
+            @RequestParam String after, Pageable pageable, ServletWebRequest request) {
+        if (catalogEtags.isCatalogNotModified(request)) {
+            return null;
+        }
+        return toCursorResponse(bookService.findAllAfter(after, pageable));
+    }
+
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catalog export streamed successfully"),
+        @ApiResponse(responseCode = "401",
+            description = "User should be authenticated to do this operation",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            )
+    })
+    @GetMapping("/export")
+    @Operation(summary = "Export the whole catalog",
+            description = "Streams every book with its category ids as newline delimited JSON, "
+                    + "one book per line in the order of ids. The response is gzip compressed "
+                    + "when the client accepts gzip encoding. The export is cut off after "
+                    + "books.export.timeout milliseconds, one hour by default")
+    public WebAsyncTask<Void> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding,
+            HttpServletResponse response) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return new WebAsyncTask<>(exportTimeout, () -> {
+            writeExport(response.getOutputStream(), gzip);
+            return null;
+        });
+    }
+
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Book by id retrieved successfully"),
+        @ApiResponse(responseCode = "304",
+            description = "Book wasn't changed since the provided ETag",
+            content = {@Content()}),
         @ApiResponse(responseCode = "401",
             description = "User should be authenticated to do this operation",
             content = {@Content()}),
@@ -75,8 +191,16 @@ public class BookController {
     })
     @GetMapping("/{id}")
     @Operation(summary = "Get book by id", description = "Returns a book with certain id")
-    public BookDto getById(@PathVariable Long id) {
-        return bookService.getById(id);
+    public BookDto getById(@PathVariable Long id, ServletWebRequest request) {
+        if (catalogEtags.isConditional(request) && catalogEtags.isNotModified(
+                request, BOOK_RESOURCE, id, bookService.getVersionById(id))) {
+            return null;
+        }
+        BookDto book = bookService.getById(id);
+        if (catalogEtags.isNotModified(request, BOOK_RESOURCE, id, book.getVersion())) {
+            return null;
+        }
+        return book;
     }
 
     @ApiResponses(value = {
@@ -107,6 +231,48 @@ public class BookController {
         return bookService.save(requestDto);
     }
 
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Feed imported, report returned"),
+        @ApiResponse(responseCode = "400", description = "Feed header or format is incorrect",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
+        @ApiResponse(responseCode = "401",
+            description = "User should be authenticated to do this operation",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "403",
+            description = "Only users with role \"MANAGER\" can do such operation",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "404",
+            description = "Import job with such id doesn't exist",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BOOK_NOT_FOUND_EXAMPLE)}
+                    )}
+            ),
+        @ApiResponse(responseCode = "500", description = "Import failed, it can be restarted",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
+    })
+    @Operation(summary = "Import books in bulk",
+            description = "Imports a CSV feed with a header row (title, author, isbn, price, "
+                    + "description, coverImage, categories separated by ';') or a NDJSON feed "
+                    + "with the same fields and categories as an array of names. Books are "
+                    + "created or updated by ISBN. Rows are committed in batches, a failed "
+                    + "import is continued by sending the same feed with the jobId from "
+                    + "the error message")
+    @PostMapping(value = "/import",
+            consumes = {BookImportFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('MANAGER')")
+    public BookImportReportDto importBooks(
+            InputStream feed,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) String jobId) {
+        return bookImportService.importBooks(feed, BookImportFormat.of(contentType), jobId);
+    }
+
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Book updated successfully"),
         @ApiResponse(responseCode = "400",
@@ -121,6 +287,12 @@ public class BookController {
         @ApiResponse(responseCode = "403",
             description = "Only users with role \"MANAGER\" can do such operation",
             content = {@Content()}),
+        @ApiResponse(responseCode = "409",
+            description = "Book was modified concurrently or If-Match names an older version",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
         @ApiResponse(responseCode = "500", description = "Internal server error",
             content = {@Content(mediaType = "application/json",
                     examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
@@ -128,12 +300,17 @@ public class BookController {
             ),
     })
     @Operation(summary = "Update a book by id",
-            description = "Updates a book with certain id, based on data, provided in the body")
+            description = "Updates a book with certain id, based on data, provided in the body. "
+                    + "When If-Match carries the ETag of the book, the update is rejected "
+                    + "with 409 if the book has changed since")
     @PreAuthorize("hasRole('ROLE_MANAGER')")
     @PutMapping("/{id}")
     public BookDto update(@PathVariable Long id,
-                                  @RequestBody @Valid CreateBookRequestDto requestDto) {
-        return bookService.update(id, requestDto);
+                          @RequestBody @Valid CreateBookRequestDto requestDto,
+                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                          String ifMatch) {
+        return bookService.update(id, requestDto,
+                catalogEtags.expectedVersion(ifMatch, BOOK_RESOURCE, id));
     }
 
     @ApiResponses(value = {
@@ -150,6 +327,12 @@ public class BookController {
                     examples = {@ExampleObject(value = BOOK_NOT_FOUND_EXAMPLE)}
                     )}
             ),
+        @ApiResponse(responseCode = "409",
+            description = "Resource was modified concurrently, try again",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
         @ApiResponse(responseCode = "500", description = "Internal server error",
             content = {@Content(mediaType = "application/json",
                     examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
@@ -185,8 +368,96 @@ public class BookController {
     @GetMapping("/search")
     @Operation(summary = "Get books with params",
             description = "Returns a list of books that match the specified parameters "
-                    + "received in the request body, based on the provided paging information")
-    public List<BookDto> search(BookSearchParameters bookSearchParameters, Pageable pageable) {
-        return bookService.search(bookSearchParameters, pageable);
+                    + "received in the request body, based on the provided paging information. "
+                    + "Parameter q runs a ranked full-text search by title, author and "
+                    + "description, words of the query match by prefix. A prefix matches "
+                    + "at most 64 distinct words, the first ones in alphabetical order. "
+                    + "When a prefix matches more, the " + SEARCH_TRUNCATED_HEADER
+                    + " header is set to true and a longer prefix should be used")
+    public ResponseEntity<List<BookDto>> search(
+            BookSearchParameters bookSearchParameters, Pageable pageable) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookService.isSearchTruncated(bookSearchParameters)) {
+            response.header(SEARCH_TRUNCATED_HEADER, Boolean.TRUE.toString());
+        }
+        return response.body(bookService.search(bookSearchParameters, pageable));
+    }
+
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200",
+            description = "Page of books retrieved successfully"),
+        @ApiResponse(responseCode = "400",
+            description = "Incorrect search parameters or cursor were provided",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
+        @ApiResponse(responseCode = "401",
+            description = "User should be authenticated to do this operation",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
+    })
+    @GetMapping(value = "/search", params = "after")
+    @Operation(summary = "Get books with params by cursor",
+            description = "Returns a page of books that match the specified parameters "
+                    + "and follow the provided cursor. Cursor of the next page "
+                    + "is returned in the " + NEXT_CURSOR_HEADER + " header")
+    public ResponseEntity<List<BookDto>> searchAfter(
+            BookSearchParameters bookSearchParameters,
+            @RequestParam String after,
+            Pageable pageable) {
+        return toCursorResponse(bookService.searchAfter(bookSearchParameters, after, pageable));
+    }
+
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200",
+            description = "List of suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "401",
+            description = "User should be authenticated to do this operation",
+            content = {@Content()}),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = {@Content(mediaType = "application/json",
+                    examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                    )}
+            ),
+    })
+    @GetMapping("/suggest")
+    @Operation(summary = "Get typeahead suggestions",
+            description = "Returns the most popular titles, authors and category names "
+                    + "which contain a word starting with the provided prefix")
+    public List<BookSuggestionDto> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    private void writeExport(OutputStream outputStream, boolean gzip) throws IOException {
+        OutputStream target = gzip
+                ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE)
+                : outputStream;
+        bookService.exportAll(book -> {
+            try {
+                target.write(objectMapper.writeValueAsBytes(book));
+                target.write(LINE_SEPARATOR);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        target.flush();
+    }
+
+    private ResponseEntity<List<BookDto>> toCursorResponse(BookCursorPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBooks());
     }
 }
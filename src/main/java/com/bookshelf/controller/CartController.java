@@ -99,6 +99,12 @@ public class CartController {
             @ApiResponse(responseCode = "401",
                     description = "User should be authenticated to do this operation",
                     content = {@Content()}),
+            @ApiResponse(responseCode = "409",
+                    description = "Cart item was modified concurrently or version is outdated",
+                    content = {@Content(mediaType = "application/json",
+                            examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                            )}
+            ),
             @ApiResponse(responseCode = "500",
                     description = "Internal server error",
                     content = {@Content(mediaType = "application/json",
@@ -107,7 +113,9 @@ public class CartController {
             ),
     })
     @Operation(summary = "Update a cart item by id",
-            description = "Updates a cart item, based on data, provided in the body")
+            description = "Updates a cart item, based on data, provided in the body. "
+                    + "When the body carries a version, the update is rejected with 409 "
+                    + "if the cart item has changed since")
     @PutMapping("/cart-items/{cartItemId}")
     public CartItemDtoResponse updateCartItem(
             Authentication authentication,
@@ -129,6 +137,12 @@ public class CartController {
                             examples = {@ExampleObject(value = CART_ITEM_NOT_FOUND_EXAMPLE)}
                             )}
             ),
+            @ApiResponse(responseCode = "409",
+                    description = "Resource was modified concurrently, try again",
+                    content = {@Content(mediaType = "application/json",
+                            examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                            )}
+            ),
             @ApiResponse(responseCode = "500",
                     description = "Internal server error",
                     content = {@Content(mediaType = "application/json",
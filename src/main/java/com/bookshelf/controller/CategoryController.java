@@ -1,5 +1,6 @@
 package com.bookshelf.controller;
 
+import com.bookshelf.cache.CatalogEtags;
 import com.bookshelf.dto.book.response.BookDtoWithoutCategoryIds;
 import com.bookshelf.dto.category.request.CategoryDtoRequest;
 import com.bookshelf.dto.category.response.CategoryDto;
@@ -27,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @Tag(name = "Category", description = "Operations related to book categories")
 @RequiredArgsConstructor
@@ -35,9 +37,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class CategoryController {
     private static final String BAD_REQUEST_EXAMPLE = Openapi.BAD_REQUEST_EXAMPLE;
     private static final String CATEGORY_NOT_FOUND_EXAMPLE = Openapi.OBJECT_NOT_FOUND_EXAMPLE;
+    private static final String CATEGORY_RESOURCE = "category";
 
     private final CategoryService categoryService;
     private final BookService bookService;
+    private final CatalogEtags catalogEtags;
 
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Category created successfully"),
@@ -71,6 +75,9 @@ public class CategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "List of categories retrieved successfully"),
+            @ApiResponse(responseCode = "304",
+                    description = "Catalog wasn't changed since the provided ETag",
+                    content = {@Content()}),
             @ApiResponse(responseCode = "401",
                     description = "User should be authenticated to do this operation",
                     content = {@Content()}),
@@ -83,13 +90,19 @@ public class CategoryController {
     @GetMapping
     @Operation(summary = "Get list of all categories",
             description = "Returns a list of categories based on the provided paging information")
-    public List<CategoryDto> getAll(Pageable pageable) {
+    public List<CategoryDto> getAll(Pageable pageable, ServletWebRequest request) {
+        if (catalogEtags.isCatalogNotModified(request)) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "Category by id retrieved successfully"),
+            @ApiResponse(responseCode = "304",
+                    description = "Category wasn't changed since the provided ETag",
+                    content = {@Content()}),
             @ApiResponse(responseCode = "401",
                     description = "User should be authenticated to do this operation",
                     content = {@Content()}),
@@ -107,8 +120,16 @@ public class CategoryController {
     })
     @GetMapping("/{id}")
     @Operation(summary = "Get category by id", description = "Returns a category with certain id")
-    public CategoryDto getCategoryById(@PathVariable Long id) {
-        return categoryService.getById(id);
+    public CategoryDto getCategoryById(@PathVariable Long id, ServletWebRequest request) {
+        if (catalogEtags.isConditional(request) && catalogEtags.isNotModified(
+                request, CATEGORY_RESOURCE, id, categoryService.getVersionById(id))) {
+            return null;
+        }
+        CategoryDto category = categoryService.getById(id);
+        if (catalogEtags.isNotModified(request, CATEGORY_RESOURCE, id, category.getVersion())) {
+            return null;
+        }
+        return category;
     }
 
     @ApiResponses(value = {
@@ -125,6 +146,12 @@ public class CategoryController {
             @ApiResponse(responseCode = "403",
                     description = "Only users with role \"MANAGER\" can do such operation",
                     content = {@Content()}),
+            @ApiResponse(responseCode = "409",
+                    description = "Resource was modified concurrently, try again",
+                    content = {@Content(mediaType = "application/json",
+                            examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                            )}
+            ),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = {@Content(mediaType = "application/json",
                             examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
@@ -155,6 +182,12 @@ public class CategoryController {
                             examples = {@ExampleObject(value = CATEGORY_NOT_FOUND_EXAMPLE)}
                             )}
             ),
+            @ApiResponse(responseCode = "409",
+                    description = "Resource was modified concurrently, try again",
+                    content = {@Content(mediaType = "application/json",
+                            examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                            )}
+            ),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = {@Content(mediaType = "application/json",
                             examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
@@ -173,6 +206,9 @@ public class CategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "List of books with category retrieved successfully"),
+            @ApiResponse(responseCode = "304",
+                    description = "Catalog wasn't changed since the provided ETag",
+                    content = {@Content()}),
             @ApiResponse(responseCode = "401",
                     description = "User should be authenticated to do this operation",
                     content = {@Content()}),
@@ -186,7 +222,10 @@ public class CategoryController {
     @Operation(summary = "Get list of all books which contain category with certain id",
             description = "Returns a list of books based on category and the paging information")
     public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(
-            @PathVariable Long id, Pageable pageable) {
+            @PathVariable Long id, Pageable pageable, ServletWebRequest request) {
+        if (catalogEtags.isCatalogNotModified(request)) {
+            return null;
+        }
         return bookService.getBooksByCategoryId(id, pageable);
     }
 }
@@ -4,6 +4,8 @@ import com.bookshelf.dto.order.request.ShippingAddressRequestDto;
 import com.bookshelf.dto.order.request.StatusRequestDto;
 import com.bookshelf.dto.order.response.OrderDto;
 import com.bookshelf.dto.order.response.OrderItemDto;
+import com.bookshelf.dto.order.response.OrderSummaryDto;
+import com.bookshelf.dto.order.response.OrderSummaryPageDto;
 import com.bookshelf.model.User;
 import com.bookshelf.res.Openapi;
 import com.bookshelf.service.OrderService;
@@ -14,9 +16,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +30,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -35,20 +41,21 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
     private static final String BAD_REQUEST_EXAMPLE = Openapi.BAD_REQUEST_EXAMPLE;
     private static final String CART_NOT_FOUND_EXAMPLE = Openapi.OBJECT_NOT_FOUND_EXAMPLE;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final OrderService orderService;
 
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
-                    description = "List of orders retrieved successfully"),
+                    description = "Page of orders retrieved successfully"),
+            @ApiResponse(responseCode = "400",
+                    description = "Incorrect cursor was provided",
+                    content = {@Content(mediaType = "application/json",
+                            examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                            )}),
             @ApiResponse(responseCode = "401",
                     description = "User should be authenticated to do this operation",
                     content = {@Content()}),
-            @ApiResponse(responseCode = "404",
-                    description = "Can't find order by id",
-                    content = {@Content(mediaType = "application/json",
-                            examples = {@ExampleObject(value = CART_NOT_FOUND_EXAMPLE)}
-                            )}),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = {@Content(mediaType = "application/json",
                             examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
@@ -57,10 +64,21 @@ public class OrderController {
     })
     @GetMapping
     @Operation(summary = "Get user's orders history",
-            description = "Get set of user's orders with items")
-    public Set<OrderDto> getHistory(Authentication authentication) {
+            description = "Returns a page of user's order summaries, newest first. "
+                    + "Cursor of the next page is returned in the " + NEXT_CURSOR_HEADER
+                    + " header and is passed back in the after parameter. "
+                    + "Items of an order are available at /orders/{orderId}/items")
+    public ResponseEntity<List<OrderSummaryDto>> getHistory(
+            Authentication authentication,
+            @RequestParam(required = false) String after,
+            Pageable pageable) {
         User user = (User) authentication.getPrincipal();
-        return orderService.getHistory(user.getId());
+        OrderSummaryPageDto page = orderService.getHistory(user.getId(), after, pageable);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
     }
 
     @ApiResponses(value = {
@@ -118,6 +136,12 @@ public class OrderController {
                     content = {@Content(mediaType = "application/json",
                             examples = {@ExampleObject(value = CART_NOT_FOUND_EXAMPLE)}
                             )}),
+            @ApiResponse(responseCode = "409",
+                    description = "Order was modified concurrently or version is outdated",
+                    content = {@Content(mediaType = "application/json",
+                            examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
+                            )}
+            ),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = {@Content(mediaType = "application/json",
                             examples = {@ExampleObject(value = BAD_REQUEST_EXAMPLE)}
@@ -125,7 +149,9 @@ public class OrderController {
             ),
     })
     @Operation(summary = "Update order status by id",
-            description = "Allows manager to change order's status by id")
+            description = "Allows manager to change order's status by id. "
+                    + "When the body carries a version, the update is rejected with 409 "
+                    + "if the order has changed since")
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('MANAGER')")
     public OrderDto updateStatus(
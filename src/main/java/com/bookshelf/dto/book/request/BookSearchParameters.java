@@ -8,4 +8,9 @@ public class BookSearchParameters {
     private String[] authors;
     private String[] isbn;
     private String[] price;
+    private String query;
+
+    public void setQ(String q) {
+        this.query = q;
+    }
 }
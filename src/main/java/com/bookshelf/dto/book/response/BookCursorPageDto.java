@@ -0,0 +1,10 @@
+package com.bookshelf.dto.book.response;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BookCursorPageDto {
+    private List<BookDto> books;
+    private String nextCursor;
+}
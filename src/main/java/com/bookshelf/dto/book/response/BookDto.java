@@ -24,4 +24,7 @@ public class BookDto {
     @Schema(example = "comedy")
     @EqualsAndHashCode.Exclude
     private Set<Long> categoryIds;
+    @Schema(example = "3")
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
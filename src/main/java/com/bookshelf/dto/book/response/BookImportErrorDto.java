@@ -0,0 +1,10 @@
+package com.bookshelf.dto.book.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record BookImportErrorDto(
+        @Schema(description = "Number of the data row in the feed, starting from 1", example = "42")
+        long row,
+        @Schema(example = "isbn Invalid ISBN format")
+        String message) {
+}
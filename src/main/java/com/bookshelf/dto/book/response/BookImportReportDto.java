@@ -0,0 +1,20 @@
+package com.bookshelf.dto.book.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BookImportReportDto {
+    @Schema(description = "Id of the job, pass it back to restart a failed import")
+    private String jobId;
+    @Schema(description = "Rows up to this one were committed by a previous run and skipped")
+    private long resumedAfterRow;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private long durationMillis;
+    private double rowsPerSecond;
+    @Schema(description = "Errors of the failed rows, the first 1000 of them")
+    private List<BookImportErrorDto> errors;
+}
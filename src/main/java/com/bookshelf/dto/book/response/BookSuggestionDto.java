@@ -0,0 +1,19 @@
+package com.bookshelf.dto.book.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record BookSuggestionDto(
+        Type type,
+        @Schema(description = "Id of the book or category, empty for authors", example = "1")
+        Long id,
+        @Schema(example = "title")
+        String label,
+        @Schema(description = "Number of books with this label plus number of ordered copies",
+                example = "12")
+        long weight) {
+    public enum Type {
+        TITLE,
+        AUTHOR,
+        CATEGORY
+    }
+}
@@ -11,4 +11,6 @@ public class PutCartItemDto {
     @Min(value = 1, message = "quantity should be greater than 0")
     @Schema(example = "2")
     private int quantity;
+    @Schema(example = "0")
+    private Long version;
 }
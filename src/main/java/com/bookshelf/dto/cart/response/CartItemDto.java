@@ -1,9 +1,14 @@
 package com.bookshelf.dto.cart.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class CartItemDto {
     @Schema(example = "1")
     private Long id;
@@ -11,6 +16,10 @@ public class CartItemDto {
     private Long bookId;
     @Schema(example = "The Book")
     private String bookTitle;
+    @Schema(example = "12.99")
+    private BigDecimal bookPrice;
     @Schema(example = "2")
     private int quantity;
+    @Schema(example = "0")
+    private long version;
 }
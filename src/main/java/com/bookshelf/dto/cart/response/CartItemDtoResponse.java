@@ -11,4 +11,6 @@ public class CartItemDtoResponse {
     private Long bookId;
     @Schema(example = "2")
     private int quantity;
+    @Schema(example = "0")
+    private long version;
 }
@@ -2,6 +2,7 @@ package com.bookshelf.dto.category.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Data
 public class CategoryDto {
@@ -11,4 +12,7 @@ public class CategoryDto {
     private String name;
     @Schema(example = "Some funny books")
     private String description;
+    @Schema(example = "3")
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
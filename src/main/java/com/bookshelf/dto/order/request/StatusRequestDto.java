@@ -13,4 +13,5 @@ public class StatusRequestDto {
     @NotNull(message = "Status can't be null")
     @Length(min = 2, max = 12, message = "Status length should be between 2 and 12")
     private String status;
+    private Long version;
 }
@@ -18,4 +18,5 @@ public class OrderDto {
     private LocalDateTime orderDate;
     private BigDecimal total;
     private Order.Status status;
+    private long version;
 }
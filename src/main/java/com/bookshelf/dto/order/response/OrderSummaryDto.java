@@ -0,0 +1,15 @@
+package com.bookshelf.dto.order.response;
+
+import com.bookshelf.model.Order;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummaryDto(
+        Long id,
+        LocalDateTime orderDate,
+        Order.Status status,
+        BigDecimal total,
+        @Schema(description = "Number of item lines in the order", example = "3")
+        Long itemCount) {
+}
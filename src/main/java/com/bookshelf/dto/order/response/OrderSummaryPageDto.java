@@ -0,0 +1,10 @@
+package com.bookshelf.dto.order.response;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class OrderSummaryPageDto {
+    private List<OrderSummaryDto> orders;
+    private String nextCursor;
+}
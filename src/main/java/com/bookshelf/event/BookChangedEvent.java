@@ -0,0 +1,17 @@
+package com.bookshelf.event;
+
+import com.bookshelf.model.Book;
+
+public record BookChangedEvent(Long bookId, Book book) {
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent(book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(bookId, null);
+    }
+
+    public boolean isDeleted() {
+        return book == null;
+    }
+}
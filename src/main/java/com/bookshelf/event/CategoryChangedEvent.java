@@ -0,0 +1,4 @@
+package com.bookshelf.event;
+
+public record CategoryChangedEvent(Long categoryId) {
+}
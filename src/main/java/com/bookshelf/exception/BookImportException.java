@@ -0,0 +1,7 @@
+package com.bookshelf.exception;
+
+public class BookImportException extends RuntimeException {
+    public BookImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
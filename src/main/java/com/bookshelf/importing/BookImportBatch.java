@@ -0,0 +1,9 @@
+package com.bookshelf.importing;
+
+import java.util.List;
+
+public record BookImportBatch(long sequence, List<BookImportRow> rows) {
+    public long lastRow() {
+        return rows.get(rows.size() - 1).number();
+    }
+}
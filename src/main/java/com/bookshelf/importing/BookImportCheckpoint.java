@@ -0,0 +1,4 @@
+package com.bookshelf.importing;
+
+public record BookImportCheckpoint(String jobId, long committedRows) {
+}
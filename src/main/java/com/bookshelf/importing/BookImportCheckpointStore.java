@@ -0,0 +1,57 @@
+package com.bookshelf.importing;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookImportCheckpointStore {
+    private static final String INSERT = "INSERT INTO book_import_jobs "
+            + "(id, status, committed_rows, updated_at) VALUES (?, ?, 0, ?)";
+    private static final String FIND_COMMITTED_ROWS = "SELECT committed_rows "
+            + "FROM book_import_jobs WHERE id = ?";
+    private static final String UPDATE_COMMITTED_ROWS = "UPDATE book_import_jobs "
+            + "SET committed_rows = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_STATUS = "UPDATE book_import_jobs "
+            + "SET status = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookImportCheckpoint start() {
+        String jobId = UUID.randomUUID().toString();
+        jdbcTemplate.update(INSERT, jobId, Status.RUNNING.name(), now());
+        return new BookImportCheckpoint(jobId, 0);
+    }
+
+    public Optional<BookImportCheckpoint> resume(String jobId) {
+        Optional<BookImportCheckpoint> checkpoint = jdbcTemplate.query(FIND_COMMITTED_ROWS,
+                (resultSet, rowNum) -> new BookImportCheckpoint(jobId,
+                        resultSet.getLong("committed_rows")), jobId).stream().findFirst();
+        checkpoint.ifPresent(found -> updateStatus(jobId, Status.RUNNING));
+        return checkpoint;
+    }
+
+    public void save(BookImportCheckpoint checkpoint) {
+        jdbcTemplate.update(UPDATE_COMMITTED_ROWS,
+                checkpoint.committedRows(), now(), checkpoint.jobId());
+    }
+
+    public void updateStatus(String jobId, Status status) {
+        jdbcTemplate.update(UPDATE_STATUS, status.name(), now(), jobId);
+    }
+
+    private Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+
+    public enum Status {
+        RUNNING,
+        FAILED,
+        COMPLETED
+    }
+}
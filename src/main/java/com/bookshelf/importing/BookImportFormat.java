@@ -0,0 +1,40 @@
+package com.bookshelf.importing;
+
+import com.bookshelf.exception.InvalidImportException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import org.springframework.http.MediaType;
+
+public enum BookImportFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    BookImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static BookImportFormat of(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (BookImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new InvalidImportException("Unsupported import format: " + contentType
+                + ", expected " + CSV_VALUE + " or " + MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    public BookImportReader open(BufferedReader reader, ObjectMapper objectMapper)
+            throws IOException {
+        return this == CSV
+                ? new CsvBookImportReader(reader)
+                : new NdjsonBookImportReader(reader, objectMapper);
+    }
+}
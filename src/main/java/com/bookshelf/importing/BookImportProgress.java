@@ -0,0 +1,67 @@
+package com.bookshelf.importing;
+
+import com.bookshelf.dto.book.response.BookImportErrorDto;
+import com.bookshelf.dto.book.response.BookImportReportDto;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class BookImportProgress {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final BookImportCheckpoint start;
+    private final Consumer<BookImportCheckpoint> checkpointSaver;
+    private final NavigableMap<Long, Long> completedBatches = new TreeMap<>();
+    private final List<BookImportErrorDto> errors = new ArrayList<>();
+    private final long startedAt = System.nanoTime();
+    private long nextSequence;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+
+    public BookImportProgress(
+            BookImportCheckpoint start, Consumer<BookImportCheckpoint> checkpointSaver) {
+        this.start = start;
+        this.checkpointSaver = checkpointSaver;
+    }
+
+    public synchronized void complete(
+            BookImportBatch batch, int imported, List<BookImportErrorDto> batchErrors) {
+        processedRows += batch.rows().size();
+        importedRows += imported;
+        failedRows += batchErrors.size();
+        batchErrors.stream()
+                .limit(MAX_REPORTED_ERRORS - errors.size())
+                .forEach(errors::add);
+        completedBatches.put(batch.sequence(), batch.lastRow());
+        Long committedRows = null;
+        while (completedBatches.containsKey(nextSequence)) {
+            committedRows = completedBatches.remove(nextSequence++);
+        }
+        if (committedRows != null) {
+            checkpointSaver.accept(new BookImportCheckpoint(start.jobId(), committedRows));
+        }
+    }
+
+    public synchronized BookImportReportDto toReport() {
+        long durationNanos = System.nanoTime() - startedAt;
+        BookImportReportDto report = new BookImportReportDto();
+        report.setJobId(start.jobId());
+        report.setResumedAfterRow(start.committedRows());
+        report.setProcessedRows(processedRows);
+        report.setImportedRows(importedRows);
+        report.setFailedRows(failedRows);
+        report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        report.setRowsPerSecond(durationNanos == 0
+                ? 0
+                : processedRows * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos);
+        report.setErrors(errors.stream()
+                .sorted(Comparator.comparingLong(BookImportErrorDto::row))
+                .toList());
+        return report;
+    }
+}
@@ -0,0 +1,7 @@
+package com.bookshelf.importing;
+
+import java.io.IOException;
+
+public interface BookImportReader {
+    BookImportRow next() throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.bookshelf.importing;
+
+import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import java.util.List;
+
+public record BookImportRow(
+        long number,
+        CreateBookRequestDto book,
+        List<String> categories,
+        String error) {
+    public static BookImportRow parsed(
+            long number, CreateBookRequestDto book, List<String> categories) {
+        return new BookImportRow(number, book, categories, null);
+    }
+
+    public static BookImportRow failed(long number, String error) {
+        return new BookImportRow(number, null, List.of(), error);
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.bookshelf.importing;
+
+import com.bookshelf.cache.CatalogGeneration;
+import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@RequiredArgsConstructor
+public class BookImportWriter {
+    private static final String UPSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image, is_deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, false) ON DUPLICATE KEY UPDATE "
+            + "title = VALUES(title), author = VALUES(author), price = VALUES(price), "
+            + "description = VALUES(description), cover_image = VALUES(cover_image), "
+            + "is_deleted = false, version = version + 1";
+    private static final String FIND_IDS_BY_ISBNS =
+            "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String DELETE_CATEGORIES =
+            "DELETE FROM books_categories WHERE book_id IN (:ids)";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogGeneration catalogGeneration;
+
+    public List<Long> write(Collection<CreateBookRequestDto> books) {
+        Map<String, CreateBookRequestDto> booksByIsbn =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        books.forEach(book -> booksByIsbn.put(book.getIsbn(), book));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> upsert(booksByIsbn));
+                catalogGeneration.advance();
+                return ids;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<Long> upsert(Map<String, CreateBookRequestDto> booksByIsbn) {
+        List<CreateBookRequestDto> books = new ArrayList<>(booksByIsbn.values());
+        jdbcTemplate.batchUpdate(UPSERT_BOOK, books, books.size(), (statement, book) -> {
+            statement.setString(1, book.getTitle());
+            statement.setString(2, book.getAuthor());
+            statement.setString(3, book.getIsbn());
+            statement.setBigDecimal(4, book.getPrice());
+            statement.setString(5, book.getDescription());
+            statement.setString(6, book.getCoverImage());
+        });
+        Map<String, Long> idsByIsbn = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        namedParameterJdbcTemplate.query(FIND_IDS_BY_ISBNS,
+                Map.of("isbns", booksByIsbn.keySet()),
+                resultSet -> {
+                    idsByIsbn.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+                });
+        List<Long> ids = new ArrayList<>(idsByIsbn.values());
+        namedParameterJdbcTemplate.update(DELETE_CATEGORIES, Map.of("ids", ids));
+        List<long[]> categories = new ArrayList<>();
+        booksByIsbn.forEach((isbn, book) -> book.getCategoryIds().forEach(categoryId ->
+                categories.add(new long[] {idsByIsbn.get(isbn), categoryId})));
+        if (!categories.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories, categories.size(),
+                    (statement, pair) -> {
+                        statement.setLong(1, pair[0]);
+                        statement.setLong(2, pair[1]);
+                    });
+        }
+        return ids;
+    }
+}
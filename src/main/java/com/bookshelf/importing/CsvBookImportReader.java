@@ -0,0 +1,127 @@
+package com.bookshelf.importing;
+
+import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.exception.InvalidImportException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class CsvBookImportReader implements BookImportReader {
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String ISBN = "isbn";
+    private static final String PRICE = "price";
+    private static final String DESCRIPTION = "description";
+    private static final String COVER_IMAGE = "coverimage";
+    private static final String CATEGORIES = "categories";
+    private static final List<String> REQUIRED_COLUMNS = List.of(TITLE, AUTHOR, ISBN, PRICE);
+    private static final String CATEGORY_SEPARATOR = ";";
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int END = -1;
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long number;
+
+    public CsvBookImportReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidImportException("CSV feed should start with a header row");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("CSV header misses required columns: " + missing);
+        }
+    }
+
+    @Override
+    public BookImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+        } while (record != null && isBlank(record));
+        if (record == null) {
+            return null;
+        }
+        number++;
+        CreateBookRequestDto book = new CreateBookRequestDto();
+        book.setTitle(value(record, TITLE));
+        book.setAuthor(value(record, AUTHOR));
+        book.setIsbn(value(record, ISBN));
+        book.setDescription(value(record, DESCRIPTION));
+        book.setCoverImage(value(record, COVER_IMAGE));
+        String price = value(record, PRICE);
+        if (price != null) {
+            try {
+                book.setPrice(new BigDecimal(price));
+            } catch (NumberFormatException e) {
+                return BookImportRow.failed(number, "price should be a number: " + price);
+            }
+        }
+        String categories = value(record, CATEGORIES);
+        return BookImportRow.parsed(number, book, categories == null
+                ? List.of()
+                : Arrays.stream(categories.split(CATEGORY_SEPARATOR))
+                        .map(String::trim)
+                        .filter(category -> !category.isEmpty())
+                        .toList());
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private boolean isBlank(List<String> record) {
+        return record.size() == 1 && record.get(0).isBlank();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int current = reader.read();
+        if (current == END) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (current != END && (quoted || current != '\n')) {
+            if (quoted && current == QUOTE) {
+                current = reader.read();
+                if (current != QUOTE) {
+                    quoted = false;
+                    continue;
+                }
+                field.append(QUOTE);
+            } else if (quoted) {
+                field.append((char) current);
+            } else if (current == QUOTE) {
+                quoted = true;
+            } else if (current == DELIMITER) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (current != '\r') {
+                field.append((char) current);
+            }
+            current = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookshelf.importing;
+
+import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NdjsonBookImportReader implements BookImportReader {
+    private static final String CATEGORIES = "categories";
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long number;
+
+    public NdjsonBookImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public BookImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        if (line == null) {
+            return null;
+        }
+        number++;
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return BookImportRow.failed(number, "line should be a JSON object");
+            }
+            JsonNode categoryNodes = ((ObjectNode) node).remove(CATEGORIES);
+            List<String> categories = new ArrayList<>();
+            if (categoryNodes != null) {
+                categoryNodes.forEach(category -> categories.add(category.asText().trim()));
+            }
+            return BookImportRow.parsed(number,
+                    objectMapper.treeToValue(node, CreateBookRequestDto.class), categories);
+        } catch (JsonProcessingException e) {
+            return BookImportRow.failed(number, "malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
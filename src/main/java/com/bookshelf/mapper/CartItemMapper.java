@@ -13,14 +13,17 @@ import org.mapstruct.Mapping;
 public interface CartItemMapper {
     @Mapping(source = "book.id", target = "bookId")
     @Mapping(source = "book.title", target = "bookTitle")
+    @Mapping(source = "book.price", target = "bookPrice")
     CartItemDto toResponse(CartItem cartItem);
 
     @Mapping(target = "book", source = "bookId", qualifiedByName = "bookFromId")
     @Mapping(target = "shoppingCart", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CartItem toEntity(CartItemDto cartItemDto);
 
     @Mapping(source = "book.id", target = "bookId")
     CartItemDtoResponse toCreateDtoResponse(CartItem cartItem);
 
+    @Mapping(target = "version", ignore = true)
     PutCartItemDto toPutDto(CreateCartItemDto createCartItemDto);
 }
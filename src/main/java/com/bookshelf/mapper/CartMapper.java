@@ -2,15 +2,18 @@ package com.bookshelf.mapper;
 
 import com.bookshelf.config.MapperConfig;
 import com.bookshelf.dto.cart.response.CartDto;
+import com.bookshelf.dto.cart.response.CartItemDto;
 import com.bookshelf.model.ShoppingCart;
+import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class, uses = CartItemMapper.class)
 public interface CartMapper {
-    @Mapping(source = "user.id", target = "userId")
+    @Mapping(source = "cartId", target = "id")
+    @Mapping(source = "cartId", target = "userId")
     @Mapping(source = "cartItems", target = "cartItems")
-    CartDto toCartDto(ShoppingCart cart);
+    CartDto toCartDto(Long cartId, List<CartItemDto> cartItems);
 
     @Mapping(source = "userId", target = "user.id")
     @Mapping(source = "cartItems", target = "cartItems")
@@ -6,14 +6,17 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
 @Table(name = "categories")
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 @Data
 @NoArgsConstructor
@@ -27,6 +30,10 @@ public class Category {
     private String description;
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
+    @Version
+    @Column(name = "version", nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
 
     public Category(Long id) {
         this.id = id;
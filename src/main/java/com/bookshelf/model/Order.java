@@ -10,6 +10,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -22,14 +24,17 @@ import org.hibernate.annotations.Where;
 
 @Entity
 @Table(name = "orders")
-@SQLDelete(sql = "UPDATE orders SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE orders SET is_deleted = true, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 @Getter
 @Setter
 @EqualsAndHashCode
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+    @TableGenerator(name = "orders_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -57,6 +62,11 @@ public class Order {
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
+
     public enum Status {
         PENDING,
         PROCESSING,
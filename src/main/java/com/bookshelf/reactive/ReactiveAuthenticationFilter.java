@@ -0,0 +1,36 @@
+package com.bookshelf.reactive;
+
+import com.bookshelf.security.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveAuthenticationFilter
+        implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public Mono<ServerResponse> filter(
+            ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String bearerToken = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith(BEARER_PREFIX)) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            jwtUtil.verify(bearerToken.substring(BEARER_PREFIX.length()));
+        } catch (JwtException e) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return next.handle(request);
+    }
+}
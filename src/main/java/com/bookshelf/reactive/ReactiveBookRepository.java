@@ -0,0 +1,113 @@
+package com.bookshelf.reactive;
+
+import com.bookshelf.dto.book.response.BookDto;
+import com.bookshelf.dto.book.response.BookDtoWithoutCategoryIds;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveBookRepository implements DisposableBean {
+    private static final String BOOK_COLUMNS =
+            "id, title, author, isbn, price, description, cover_image";
+    private static final String WITH_CATEGORY_IDS = "SELECT b.id, b.title, b.author, b.isbn, "
+            + "b.price, b.description, b.cover_image, "
+            + "GROUP_CONCAT(c.id ORDER BY c.id) AS category_ids FROM (%s) b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "GROUP BY b.id, b.title, b.author, b.isbn, b.price, b.description, b.cover_image "
+            + "ORDER BY b.id";
+    private static final String FIND_ALL = String.format(WITH_CATEGORY_IDS, "SELECT "
+            + BOOK_COLUMNS + " FROM books WHERE is_deleted = false "
+            + "ORDER BY id LIMIT :limit OFFSET :offset");
+    private static final String FIND_BY_ID = String.format(WITH_CATEGORY_IDS, "SELECT "
+            + BOOK_COLUMNS + " FROM books WHERE id = :id AND is_deleted = false");
+    private static final String FIND_ALL_BY_CATEGORY_ID = "SELECT b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.cover_image FROM books b "
+            + "JOIN books_categories bc ON bc.book_id = b.id "
+            + "JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE bc.category_id = :categoryId AND b.is_deleted = false "
+            + "ORDER BY b.id LIMIT :limit OFFSET :offset";
+    private static final Pattern ID_SEPARATOR = Pattern.compile(",");
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveBookRepository(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<BookDto> findAll(Pageable pageable) {
+        return databaseClient.sql(FIND_ALL)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(this::toDto)
+                .all();
+    }
+
+    public Mono<BookDto> findById(Long id) {
+        return databaseClient.sql(FIND_BY_ID)
+                .bind("id", id)
+                .map(this::toDto)
+                .one();
+    }
+
+    public Flux<BookDtoWithoutCategoryIds> findAllByCategoryId(
+            Long categoryId, Pageable pageable) {
+        return databaseClient.sql(FIND_ALL_BY_CATEGORY_ID)
+                .bind("categoryId", categoryId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(this::toDtoWithoutCategories)
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private BookDto toDto(Readable row) {
+        BookDto bookDto = new BookDto();
+        bookDto.setId(row.get("id", Long.class));
+        bookDto.setTitle(row.get("title", String.class));
+        bookDto.setAuthor(row.get("author", String.class));
+        bookDto.setIsbn(row.get("isbn", String.class));
+        bookDto.setPrice(row.get("price", BigDecimal.class));
+        bookDto.setDescription(row.get("description", String.class));
+        bookDto.setCoverImage(row.get("cover_image", String.class));
+        bookDto.setCategoryIds(toCategoryIds(row.get("category_ids", String.class)));
+        return bookDto;
+    }
+
+    private BookDtoWithoutCategoryIds toDtoWithoutCategories(Readable row) {
+        BookDtoWithoutCategoryIds bookDto = new BookDtoWithoutCategoryIds();
+        bookDto.setId(row.get("id", Long.class));
+        bookDto.setTitle(row.get("title", String.class));
+        bookDto.setAuthor(row.get("author", String.class));
+        bookDto.setIsbn(row.get("isbn", String.class));
+        bookDto.setPrice(row.get("price", BigDecimal.class));
+        bookDto.setDescription(row.get("description", String.class));
+        bookDto.setCoverImage(row.get("cover_image", String.class));
+        return bookDto;
+    }
+
+    private Set<Long> toCategoryIds(String categoryIds) {
+        if (categoryIds == null) {
+            return new LinkedHashSet<>();
+        }
+        return Arrays.stream(ID_SEPARATOR.split(categoryIds))
+                .map(Long::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,68 @@
+package com.bookshelf.reactive;
+
+import com.bookshelf.exception.ExceptionBody;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveCatalogHandler {
+    private static final String ID = "id";
+    private static final String PAGE = "page";
+    private static final String SIZE = "size";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveBookRepository bookRepository;
+
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        return bookRepository.findAll(pageOf(request))
+                .collectList()
+                .flatMap(this::ok);
+    }
+
+    public Mono<ServerResponse> getBookById(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable(ID));
+        return bookRepository.findById(id)
+                .flatMap(this::ok)
+                .switchIfEmpty(Mono.defer(() -> error(HttpStatus.NOT_FOUND,
+                        "Can't find book by id: " + id)));
+    }
+
+    public Mono<ServerResponse> getBooksByCategoryId(ServerRequest request) {
+        Long categoryId = Long.valueOf(request.pathVariable(ID));
+        return bookRepository.findAllByCategoryId(categoryId, pageOf(request))
+                .collectList()
+                .flatMap(this::ok);
+    }
+
+    public static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ExceptionBody(LocalDateTime.now(), status, List.of(message)));
+    }
+
+    private Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+
+    private Pageable pageOf(ServerRequest request) {
+        int page = request.queryParam(PAGE)
+                .map(Integer::parseInt)
+                .orElse(0);
+        int size = request.queryParam(SIZE)
+                .map(Integer::parseInt)
+                .orElse(DEFAULT_PAGE_SIZE);
+        return PageRequest.of(Math.max(page, 0),
+                size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE));
+    }
+}
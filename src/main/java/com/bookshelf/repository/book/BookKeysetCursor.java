@@ -0,0 +1,91 @@
+package com.bookshelf.repository.book;
+
+import com.bookshelf.exception.InvalidCursorException;
+import com.bookshelf.model.Book;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookKeysetCursor {
+    public static final String ID = "id";
+    public static final String TITLE = "title";
+    public static final String AUTHOR = "author";
+    public static final String PRICE = "price";
+    private static final Set<String> SORT_PROPERTIES = Set.of(ID, TITLE, AUTHOR, PRICE);
+    private static final String SEPARATOR = "|";
+    private static final int PARTS_COUNT = 4;
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final String lastValue;
+
+    public static BookKeysetCursor first(Sort sort) {
+        Sort.Order order = sort.stream()
+                .findFirst()
+                .orElse(Sort.Order.asc(ID));
+        checkProperty(order.getProperty());
+        return new BookKeysetCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    public static BookKeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8).split(Pattern.quote(SEPARATOR), PARTS_COUNT);
+            checkProperty(parts[0]);
+            if (PRICE.equals(parts[0]) && new BigDecimal(parts[3]).signum() < 0) {
+                throw new InvalidCursorException("Invalid book cursor: " + token);
+            }
+            return new BookKeysetCursor(parts[0],
+                    Sort.Direction.fromString(parts[1]),
+                    Long.valueOf(parts[2]),
+                    parts[3]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid book cursor: " + token);
+        }
+    }
+
+    public BookKeysetCursor next(Book lastBook) {
+        return new BookKeysetCursor(property, direction, lastBook.getId(), valueOf(lastBook));
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, property, direction.name(),
+                String.valueOf(lastId), lastValue);
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public boolean isAscending() {
+        return direction.isAscending();
+    }
+
+    private String valueOf(Book book) {
+        return switch (property) {
+            case TITLE -> book.getTitle();
+            case AUTHOR -> book.getAuthor();
+            case PRICE -> book.getPrice().toPlainString();
+            default -> String.valueOf(book.getId());
+        };
+    }
+
+    private static void checkProperty(String property) {
+        if (!SORT_PROPERTIES.contains(property)) {
+            throw new InvalidCursorException("Can't page books by cursor on property: "
+                    + property);
+        }
+    }
+}
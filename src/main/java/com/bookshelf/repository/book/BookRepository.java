@@ -3,25 +3,25 @@ package com.bookshelf.repository.book;
 import com.bookshelf.model.Book;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface BookRepository extends JpaRepository<Book, Long>,
-        JpaSpecificationExecutor<Book> {
-    @Query(value = "FROM Book b LEFT JOIN FETCH b.categories c WHERE c.id = :categoryId")
-    List<Book> findAllByCategoryId(Long categoryId, Pageable pageable);
-
+        JpaSpecificationExecutor<Book>, BookRepositoryCustom {
     @Query("FROM Book b LEFT JOIN FETCH b.categories WHERE b.id = :id")
     Optional<Book> findByIdWithCategories(Long id);
 
-    @Query("FROM Book b LEFT JOIN FETCH b.categories")
-    Page<Book> findAllWithCategories(Pageable pageable);
+    List<Book> findAllByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(Long id);
 
-    @EntityGraph(attributePaths = {"categories"})
-    Page<Book> findAll(Specification<Book> specification, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE books b JOIN books_categories bc ON bc.book_id = b.id "
+            + "SET b.version = b.version + 1 WHERE bc.category_id = :categoryId",
+            nativeQuery = true)
+    int incrementVersionsByCategoryId(Long categoryId);
 }
@@ -0,0 +1,23 @@
+package com.bookshelf.repository.book;
+
+import com.bookshelf.model.Book;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookRepositoryCustom {
+    List<Book> findAllWithCategories(Pageable pageable);
+
+    List<Book> findAllWithCategories(Specification<Book> specification, Pageable pageable);
+
+    List<Book> findAllWithCategoriesByIds(List<Long> ids);
+
+    List<Book> findAllByCategoryId(Long categoryId, Pageable pageable);
+
+    List<Long> findIds(Specification<Book> specification, Pageable pageable);
+
+    List<Long> findIdsAfter(Specification<Book> specification, BookKeysetCursor cursor, int limit);
+
+    Stream<Book> streamAllWithCategories();
+}
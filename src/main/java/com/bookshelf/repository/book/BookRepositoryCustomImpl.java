@@ -0,0 +1,190 @@
+package com.bookshelf.repository.book;
+
+import com.bookshelf.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+    private static final String CATEGORIES = "categories";
+    private static final String FIND_WITH_CATEGORIES_BY_IDS =
+            "FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids";
+    private static final String FIND_BY_IDS = "FROM Book b WHERE b.id IN :ids";
+    private static final String STREAM_ALL_WITH_CATEGORIES =
+            "FROM Book b LEFT JOIN FETCH b.categories ORDER BY b.id";
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final String IDS_PARAMETER = "ids";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Book> findAllWithCategories(Pageable pageable) {
+        return findAllWithCategories(null, pageable);
+    }
+
+    @Override
+    public List<Book> findAllWithCategories(
+            Specification<Book> specification, Pageable pageable) {
+        return findAllWithCategoriesByIds(findIds(specification, pageable));
+    }
+
+    @Override
+    public List<Book> findAllWithCategoriesByIds(List<Long> ids) {
+        return findAllByIdsInOrder(FIND_WITH_CATEGORIES_BY_IDS, ids);
+    }
+
+    @Override
+    public List<Book> findAllByCategoryId(Long categoryId, Pageable pageable) {
+        Specification<Book> inCategory = (root, query, criteriaBuilder) -> criteriaBuilder
+                .equal(root.join(CATEGORIES).get(BookKeysetCursor.ID), categoryId);
+        return findAllByIdsInOrder(FIND_BY_IDS, findIds(inCategory, pageable));
+    }
+
+    @Override
+    public List<Long> findIdsAfter(
+            Specification<Book> specification, BookKeysetCursor cursor, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        List<Predicate> predicates = toPredicates(specification, root, query, criteriaBuilder);
+        if (!cursor.isFirst()) {
+            predicates.add(afterCursor(root, criteriaBuilder, cursor));
+        }
+        query.select(root.<Long>get(BookKeysetCursor.ID))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orderBy(root, criteriaBuilder, cursor));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Book> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        List<Order> orders = new ArrayList<>(
+                QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        if (pageable.getSort().getOrderFor(BookKeysetCursor.ID) == null) {
+            orders.add(criteriaBuilder.asc(root.get(BookKeysetCursor.ID)));
+        }
+        query.select(root.<Long>get(BookKeysetCursor.ID))
+                .where(toPredicates(specification, root, query, criteriaBuilder)
+                        .toArray(new Predicate[0]))
+                .orderBy(orders);
+        TypedQuery<Long> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public Stream<Book> streamAllWithCategories() {
+        return entityManager.createQuery(STREAM_ALL_WITH_CATEGORIES, Book.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAMING_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    private List<Book> findAllByIdsInOrder(String jpql, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> booksById = entityManager.createQuery(jpql, Book.class)
+                .setParameter(IDS_PARAMETER, ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Book::getId, Function.identity(), (b1, b2) -> b1));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Predicate> toPredicates(
+            Specification<Book> specification,
+            Root<Book> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder criteriaBuilder) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate filter = specification.toPredicate(root, query, criteriaBuilder);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        return predicates;
+    }
+
+    private Predicate afterCursor(
+            Root<Book> root, CriteriaBuilder criteriaBuilder, BookKeysetCursor cursor) {
+        Predicate afterId = isAfter(criteriaBuilder, root.<Long>get(BookKeysetCursor.ID),
+                cursor.getLastId(), cursor.isAscending());
+        return switch (cursor.getProperty()) {
+            case BookKeysetCursor.ID -> afterId;
+            case BookKeysetCursor.PRICE -> afterKey(criteriaBuilder,
+                    root.<BigDecimal>get(BookKeysetCursor.PRICE),
+                    new BigDecimal(cursor.getLastValue()), cursor.isAscending(), afterId);
+            default -> afterKey(criteriaBuilder, root.<String>get(cursor.getProperty()),
+                    cursor.getLastValue(), cursor.isAscending(), afterId);
+        };
+    }
+
+    private <T extends Comparable<? super T>> Predicate afterKey(
+            CriteriaBuilder criteriaBuilder,
+            Path<T> key,
+            T value,
+            boolean ascending,
+            Predicate afterId) {
+        return criteriaBuilder.or(isAfter(criteriaBuilder, key, value, ascending),
+                criteriaBuilder.and(criteriaBuilder.equal(key, value), afterId));
+    }
+
+    private <T extends Comparable<? super T>> Predicate isAfter(
+            CriteriaBuilder criteriaBuilder,
+            Expression<? extends T> key,
+            T value,
+            boolean ascending) {
+        return ascending
+                ? criteriaBuilder.greaterThan(key, value)
+                : criteriaBuilder.lessThan(key, value);
+    }
+
+    private List<Order> orderBy(
+            Root<Book> root, CriteriaBuilder criteriaBuilder, BookKeysetCursor cursor) {
+        List<Order> orders = new ArrayList<>();
+        if (!BookKeysetCursor.ID.equals(cursor.getProperty())) {
+            orders.add(order(criteriaBuilder, root.get(cursor.getProperty()),
+                    cursor.isAscending()));
+        }
+        orders.add(order(criteriaBuilder, root.get(BookKeysetCursor.ID), cursor.isAscending()));
+        return orders;
+    }
+
+    private Order order(
+            CriteriaBuilder criteriaBuilder, Expression<?> expression, boolean ascending) {
+        return ascending ? criteriaBuilder.asc(expression) : criteriaBuilder.desc(expression);
+    }
+}
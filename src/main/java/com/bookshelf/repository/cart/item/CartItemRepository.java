@@ -1,9 +1,34 @@
 package com.bookshelf.repository.cart.item;
 
+import com.bookshelf.dto.cart.response.CartItemDto;
 import com.bookshelf.model.CartItem;
-import com.bookshelf.model.ShoppingCart;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
-    void deleteAllByShoppingCart(ShoppingCart cart);
+    Optional<CartItem> findByIdAndShoppingCart_Id(Long id, Long cartId);
+
+    Optional<CartItem> findByShoppingCart_IdAndBook_Id(Long cartId, Long bookId);
+
+    @Query("SELECT new com.bookshelf.dto.cart.response.CartItemDto("
+            + "ci.id, b.id, b.title, b.price, ci.quantity, ci.version) "
+            + "FROM CartItem ci JOIN ci.book b WHERE ci.shoppingCart.id = :cartId ORDER BY ci.id")
+    List<CartItemDto> findCartItemDtos(Long cartId);
+
+    @Query("FROM CartItem ci JOIN FETCH ci.book WHERE ci.shoppingCart.id = :cartId")
+    List<CartItem> findAllWithBooksByCartId(Long cartId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO items (cart_id, book_id, quantity) "
+            + "VALUES (:cartId, :bookId, :quantity) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity, version = version + 1",
+            nativeQuery = true)
+    int addQuantity(Long cartId, Long bookId, int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :cartId")
+    int deleteAllByCartId(Long cartId);
 }
@@ -0,0 +1,7 @@
+package com.bookshelf.repository.order;
+
+public interface BookPopularity {
+    Long getBookId();
+
+    Long getQuantity();
+}
@@ -1,9 +1,18 @@
 package com.bookshelf.repository.order;
 
 import com.bookshelf.model.OrderItem;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     Set<OrderItem> findAllByOrderId(Long orderId);
+
+    Optional<OrderItem> findByIdAndOrder_Id(Long id, Long orderId);
+
+    @Query("SELECT oi.book.id AS bookId, SUM(oi.quantity) AS quantity "
+            + "FROM OrderItem oi GROUP BY oi.book.id")
+    List<BookPopularity> findBookPopularity();
 }
@@ -0,0 +1,44 @@
+package com.bookshelf.repository.order;
+
+import com.bookshelf.dto.order.response.OrderSummaryDto;
+import com.bookshelf.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderKeysetCursor {
+    private static final String SEPARATOR = "|";
+    private static final int PARTS_COUNT = 2;
+
+    private final LocalDateTime lastDate;
+    private final Long lastId;
+
+    public static OrderKeysetCursor after(OrderSummaryDto lastOrder) {
+        return new OrderKeysetCursor(lastOrder.orderDate(), lastOrder.id());
+    }
+
+    public static OrderKeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8).split(Pattern.quote(SEPARATOR), PARTS_COUNT);
+            return new OrderKeysetCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException
+                 | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid order cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, lastDate.toString(), String.valueOf(lastId));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,25 @@
 package com.bookshelf.repository.order;
 
+import com.bookshelf.dto.order.response.OrderSummaryDto;
 import com.bookshelf.model.Order;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.user.id = :userId")
-    Set<Order> findAllByUserId(Long userId);
+    String SELECT_SUMMARY = "SELECT new com.bookshelf.dto.order.response.OrderSummaryDto("
+            + "o.id, o.orderDate, o.status, o.total, "
+            + "(SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order = o)) "
+            + "FROM Order o WHERE o.user.id = :userId ";
+    String ORDER_SUMMARY = "ORDER BY o.orderDate DESC, o.id DESC";
+
+    @Query(SELECT_SUMMARY + ORDER_SUMMARY)
+    List<OrderSummaryDto> findSummaries(Long userId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "AND (o.orderDate < :lastDate "
+            + "OR (o.orderDate = :lastDate AND o.id < :lastId)) " + ORDER_SUMMARY)
+    List<OrderSummaryDto> findSummariesAfter(
+            Long userId, LocalDateTime lastDate, Long lastId, Pageable pageable);
 }
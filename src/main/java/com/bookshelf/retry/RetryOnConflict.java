@@ -0,0 +1,22 @@
+package com.bookshelf.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${retry.conflict.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${retry.conflict.delay:20}",
+                maxDelayExpression = "${retry.conflict.max-delay:200}",
+                multiplierExpression = "${retry.conflict.multiplier:2}",
+                random = true))
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,6 @@
+package com.bookshelf.routing;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
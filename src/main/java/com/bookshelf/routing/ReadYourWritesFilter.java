@@ -0,0 +1,102 @@
+package com.bookshelf.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+    public static final String LAST_WRITE_COOKIE = "last_write";
+    private static final Set<String> READ_METHODS = Set.of(HttpMethod.GET.name(),
+            HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+    private static final String ROOT_PATH = "/";
+    private static final int MILLIS_IN_SECOND = 1000;
+    private static final long NO_WRITE = 0;
+
+    private final long pinDuration;
+
+    public ReadYourWritesFilter(long pinDuration) {
+        this.pinDuration = pinDuration;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write || isRecent(getLastWrite(request), System.currentTimeMillis())) {
+            ReadYourWrites.pin();
+        }
+        HttpServletResponse filteredResponse =
+                write ? new LastWriteResponse(request, response) : response;
+        try {
+            filterChain.doFilter(request, filteredResponse);
+        } finally {
+            ReadYourWrites.clear();
+        }
+        if (filteredResponse instanceof LastWriteResponse writeResponse
+                && !response.isCommitted()) {
+            writeResponse.rememberWrite();
+        }
+    }
+
+    private boolean isRecent(long lastWrite, long now) {
+        return lastWrite <= now && lastWrite > now - pinDuration;
+    }
+
+    private long getLastWrite(HttpServletRequest request) {
+        String token = request.getHeader(LAST_WRITE_HEADER);
+        if (token == null) {
+            Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+            token = cookie == null ? null : cookie.getValue();
+        }
+        if (token == null) {
+            return NO_WRITE;
+        }
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            return NO_WRITE;
+        }
+    }
+
+    private class LastWriteResponse extends OnCommittedResponseWrapper {
+        private final HttpServletRequest request;
+        private boolean remembered;
+
+        LastWriteResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            rememberWrite();
+        }
+
+        void rememberWrite() {
+            if (remembered) {
+                return;
+            }
+            remembered = true;
+            String token = Long.toString(System.currentTimeMillis());
+            setHeader(LAST_WRITE_HEADER, token);
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, token);
+            cookie.setPath(request.getContextPath().isEmpty()
+                    ? ROOT_PATH : request.getContextPath());
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, pinDuration / MILLIS_IN_SECOND));
+            addCookie(cookie);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.bookshelf.search;
+
+import com.bookshelf.cache.CacheRegion;
+import com.bookshelf.cache.InvalidationSubscriber;
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.model.Book;
+import com.bookshelf.repository.book.BookRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex implements InvalidationSubscriber {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double TERM_SATURATION = 1.2;
+    private static final double LENGTH_NORMALIZATION = 0.75;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<Map.Entry<Long, Double>> BY_RANK =
+            Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+        long lastId = 0;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findAllByIdGreaterThanOrderById(
+                    lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            batch.forEach(this::index);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.bookId());
+        } else {
+            index(event.book());
+        }
+    }
+
+    @Override
+    public void invalidate(CacheRegion region, Set<Long> keys) {
+        if (region != CacheRegion.BOOK) {
+            return;
+        }
+        Set<Long> removedIds = new HashSet<>(keys);
+        bookRepository.findAllById(keys).forEach(book -> {
+            removedIds.remove(book.getId());
+            index(book);
+        });
+        removedIds.forEach(this::remove);
+    }
+
+    public void index(Book book) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, book.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, book.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(terms, book.getDescription(), DESCRIPTION_WEIGHT);
+        int length = terms.values().stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            terms.forEach((term, frequency) -> postings
+                    .computeIfAbsent(term, t -> new HashMap<>())
+                    .put(book.getId(), frequency));
+            documents.put(book.getId(), terms);
+            documentLengths.put(book.getId(), length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query).stream()
+                .distinct()
+                .toList();
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topRanked(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isExpansionTruncated(String query) {
+        List<String> queryTerms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            return queryTerms.stream()
+                    .anyMatch(prefix -> expansions(prefix).stream()
+                            .skip(MAX_PREFIX_EXPANSIONS)
+                            .findAny()
+                            .isPresent());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Map.Entry<String, Map<Long, Integer>>> expansions(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet();
+    }
+
+    private Map<Long, Double> scoreTerm(String prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        double averageLength = (double) totalLength / documents.size();
+        expansions(prefix).stream()
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .forEach(entry -> {
+                    double idf = inverseDocumentFrequency(entry.getValue().size());
+                    double factor = entry.getKey().equals(prefix) ? 1 : PREFIX_MATCH_FACTOR;
+                    entry.getValue().forEach((id, frequency) -> scores.merge(id,
+                            factor * idf * saturate(frequency,
+                                    documentLengths.get(id) / averageLength),
+                            Math::max));
+                });
+        return scores;
+    }
+
+    private double inverseDocumentFrequency(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5)
+                / (documentFrequency + 0.5));
+    }
+
+    private double saturate(int frequency, double relativeLength) {
+        return frequency * (TERM_SATURATION + 1)
+                / (frequency + TERM_SATURATION
+                        * (1 - LENGTH_NORMALIZATION + LENGTH_NORMALIZATION * relativeLength));
+    }
+
+    private List<Long> topRanked(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(BY_RANK);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().getKey());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private void removeDocument(Long bookId) {
+        Map<String, Integer> terms = documents.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= documentLengths.remove(bookId);
+        terms.keySet().forEach(term -> {
+            Map<Long, Integer> bookIds = postings.get(term);
+            bookIds.remove(bookId);
+            if (bookIds.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addTerms(Map<String, Integer> terms, String text, int weight) {
+        tokenize(text).forEach(term -> terms.merge(term, weight, Integer::sum));
+    }
+
+    private List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
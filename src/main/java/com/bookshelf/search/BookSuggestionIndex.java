@@ -0,0 +1,287 @@
+package com.bookshelf.search;
+
+import com.bookshelf.cache.CacheRegion;
+import com.bookshelf.cache.InvalidationSubscriber;
+import com.bookshelf.dto.book.response.BookSuggestionDto;
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.model.Book;
+import com.bookshelf.model.Category;
+import com.bookshelf.repository.book.BookKeysetCursor;
+import com.bookshelf.repository.book.BookRepository;
+import com.bookshelf.repository.category.CategoryRepository;
+import com.bookshelf.repository.order.BookPopularity;
+import com.bookshelf.repository.order.OrderItemRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class BookSuggestionIndex implements InvalidationSubscriber {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final String SPACE = " ";
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private final Map<Long, Long> orderedQuantities = new HashMap<>();
+    private final Map<String, Long> authorWeights = new HashMap<>();
+    private final Map<Long, Long> categoryWeights = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear(orderItemRepository.findBookPopularity().stream()
+                .collect(Collectors.toMap(BookPopularity::getBookId,
+                        BookPopularity::getQuantity)));
+        BookKeysetCursor cursor = BookKeysetCursor.first(Sort.by(BookKeysetCursor.ID));
+        List<Long> ids;
+        do {
+            ids = bookRepository.findIdsAfter(null, cursor, REBUILD_BATCH_SIZE);
+            bookRepository.findAllWithCategoriesByIds(ids).forEach(this::index);
+            if (!ids.isEmpty()) {
+                cursor = cursor.next(new Book(ids.get(ids.size() - 1)));
+            }
+        } while (ids.size() == REBUILD_BATCH_SIZE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.bookId());
+        } else {
+            index(event.book());
+        }
+    }
+
+    @Override
+    public void invalidate(CacheRegion region, Set<Long> keys) {
+        if (region == CacheRegion.BOOK) {
+            refreshBooks(keys);
+        } else if (region == CacheRegion.CATEGORY) {
+            refreshCategories(keys);
+        }
+    }
+
+    public void index(Book book) {
+        Map<Long, String> names = namesOf(book.getCategories());
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            long weight = weightOf(book.getId());
+            books.put(book.getId(),
+                    new IndexedBook(book.getTitle(), book.getAuthor(),
+                            Set.copyOf(names.keySet())));
+            add(new BookSuggestionDto(BookSuggestionDto.Type.TITLE,
+                    book.getId(), book.getTitle(), weight));
+            changeAuthorWeight(book.getAuthor(), weight);
+            names.forEach((categoryId, name) -> {
+                categoryNames.put(categoryId, name);
+                changeCategoryWeight(categoryId, weight);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.top(truncate(key), Math.min(limit, MAX_SUGGESTIONS));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refreshBooks(Set<Long> bookIds) {
+        Set<Long> removedIds = new HashSet<>(bookIds);
+        bookRepository.findAllWithCategoriesByIds(List.copyOf(bookIds)).forEach(book -> {
+            removedIds.remove(book.getId());
+            index(book);
+        });
+        removedIds.forEach(this::remove);
+    }
+
+    private void refreshCategories(Set<Long> categoryIds) {
+        Map<Long, String> names = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        lock.writeLock().lock();
+        try {
+            categoryIds.forEach(categoryId -> renameCategory(categoryId, names.get(categoryId)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void renameCategory(Long categoryId, String name) {
+        long weight = categoryWeights.getOrDefault(categoryId, 0L);
+        if (weight > 0) {
+            delete(new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY,
+                    categoryId, categoryNames.get(categoryId), weight));
+        }
+        if (name == null) {
+            categoryNames.remove(categoryId);
+            categoryWeights.remove(categoryId);
+            return;
+        }
+        categoryNames.put(categoryId, name);
+        if (weight > 0) {
+            add(new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY, categoryId, name, weight));
+        }
+    }
+
+    private void removeBook(Long bookId) {
+        IndexedBook book = books.remove(bookId);
+        if (book == null) {
+            return;
+        }
+        long weight = weightOf(bookId);
+        delete(new BookSuggestionDto(BookSuggestionDto.Type.TITLE,
+                bookId, book.title(), weight));
+        changeAuthorWeight(book.author(), -weight);
+        book.categoryIds().forEach(categoryId -> changeCategoryWeight(categoryId, -weight));
+    }
+
+    private void changeAuthorWeight(String author, long delta) {
+        long weight = authorWeights.getOrDefault(author, 0L);
+        if (weight > 0) {
+            delete(new BookSuggestionDto(BookSuggestionDto.Type.AUTHOR, null, author, weight));
+        }
+        weight += delta;
+        if (weight > 0) {
+            authorWeights.put(author, weight);
+            add(new BookSuggestionDto(BookSuggestionDto.Type.AUTHOR, null, author, weight));
+        } else {
+            authorWeights.remove(author);
+        }
+    }
+
+    private void changeCategoryWeight(Long categoryId, long delta) {
+        String name = categoryNames.get(categoryId);
+        long weight = categoryWeights.getOrDefault(categoryId, 0L);
+        if (weight > 0) {
+            delete(new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY,
+                    categoryId, name, weight));
+        }
+        weight += delta;
+        if (weight > 0) {
+            categoryWeights.put(categoryId, weight);
+            add(new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY,
+                    categoryId, name, weight));
+        } else {
+            categoryWeights.remove(categoryId);
+        }
+    }
+
+    private void add(BookSuggestionDto suggestion) {
+        keysOf(suggestion.label()).forEach(key -> trie.add(key, suggestion));
+    }
+
+    private void delete(BookSuggestionDto suggestion) {
+        keysOf(suggestion.label()).forEach(key -> trie.remove(key, suggestion));
+    }
+
+    private long weightOf(Long bookId) {
+        return 1 + orderedQuantities.getOrDefault(bookId, 0L);
+    }
+
+    private Map<Long, String> namesOf(Set<Category> categories) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> unknownIds = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Category category : categories) {
+                String name = category.getName() != null
+                        ? category.getName()
+                        : categoryNames.get(category.getId());
+                if (name != null) {
+                    names.put(category.getId(), name);
+                } else {
+                    unknownIds.add(category.getId());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!unknownIds.isEmpty()) {
+            categoryRepository.findAllById(unknownIds)
+                    .forEach(category -> names.put(category.getId(), category.getName()));
+        }
+        return names;
+    }
+
+    private List<String> keysOf(String label) {
+        String key = toKey(label);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < key.length(); i++) {
+            if (i == 0 || key.charAt(i - 1) == ' ') {
+                keys.add(truncate(key.substring(i)));
+            }
+        }
+        return keys;
+    }
+
+    private String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private String toKey(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WORD_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.joining(SPACE));
+    }
+
+    private void clear(Map<Long, Long> quantities) {
+        lock.writeLock().lock();
+        try {
+            trie = new SuggestionTrie(MAX_SUGGESTIONS);
+            books.clear();
+            authorWeights.clear();
+            categoryWeights.clear();
+            categoryNames.clear();
+            orderedQuantities.clear();
+            orderedQuantities.putAll(quantities);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record IndexedBook(String title, String author, Set<Long> categoryIds) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.bookshelf.search;
+
+import com.bookshelf.dto.book.response.BookSuggestionDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+class SuggestionTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final BookSuggestionDto[] NO_SUGGESTIONS = new BookSuggestionDto[0];
+    private static final Comparator<BookSuggestionDto> BY_WEIGHT =
+            Comparator.comparingLong(BookSuggestionDto::weight)
+                    .reversed()
+                    .thenComparing(BookSuggestionDto::label)
+                    .thenComparing(BookSuggestionDto::type);
+
+    private final int capacity;
+    private final Node root = new Node();
+
+    SuggestionTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String key, BookSuggestionDto suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+        Node last = path[key.length()];
+        last.suggestions = Arrays.copyOf(last.suggestions, last.suggestions.length + 1);
+        last.suggestions[last.suggestions.length - 1] = suggestion;
+        refresh(path);
+    }
+
+    void remove(String key, BookSuggestionDto suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node last = path[key.length()];
+        int index = Arrays.asList(last.suggestions).indexOf(suggestion);
+        if (index < 0) {
+            return;
+        }
+        BookSuggestionDto[] suggestions = new BookSuggestionDto[last.suggestions.length - 1];
+        System.arraycopy(last.suggestions, 0, suggestions, 0, index);
+        System.arraycopy(last.suggestions, index + 1, suggestions, index,
+                suggestions.length - index);
+        last.suggestions = suggestions;
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+        refresh(path);
+    }
+
+    List<BookSuggestionDto> top(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(node.top)
+                .subList(0, Math.min(limit, node.top.length)));
+    }
+
+    private void refresh(Node[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            List<BookSuggestionDto> candidates = new ArrayList<>(Arrays.asList(
+                    path[i].suggestions));
+            for (Node child : path[i].children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            path[i].top = candidates.stream()
+                    .distinct()
+                    .sorted(BY_WEIGHT)
+                    .limit(capacity)
+                    .toArray(BookSuggestionDto[]::new);
+        }
+    }
+
+    private static class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private BookSuggestionDto[] suggestions = NO_SUGGESTIONS;
+        private BookSuggestionDto[] top = NO_SUGGESTIONS;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int position = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+            System.arraycopy(children, position, newChildren, position + 1,
+                    children.length - position);
+            newKeys[position] = key;
+            newChildren[position] = new Node();
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[position];
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, newKeys.length - index);
+            System.arraycopy(children, index + 1, newChildren, index,
+                    newChildren.length - index);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return suggestions.length == 0 && children.length == 0;
+        }
+    }
+}
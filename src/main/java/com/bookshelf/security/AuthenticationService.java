@@ -2,6 +2,7 @@ package com.bookshelf.security;
 
 import com.bookshelf.dto.user.request.UserLoginRequestDto;
 import com.bookshelf.dto.user.response.UserLoginResponseDto;
+import com.bookshelf.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +19,7 @@ public class AuthenticationService {
         final Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
-        return new UserLoginResponseDto(jwtUtil.generateToken(authentication.getName()));
+        return new UserLoginResponseDto(
+                jwtUtil.generateToken((User) authentication.getPrincipal()));
     }
 }
@@ -0,0 +1,42 @@
+package com.bookshelf.security;
+
+import com.bookshelf.cache.CacheRegion;
+import com.bookshelf.cache.InvalidationSubscriber;
+import com.bookshelf.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PrincipalCache implements InvalidationSubscriber {
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            UserDetailsService userDetailsService,
+            @Value("${jwt.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.principal-cache.expire-after-write:60000}") long expireAfterWrite) {
+        this.userDetailsService = userDetailsService;
+        principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWrite))
+                .build();
+    }
+
+    public UserDetails get(String username) {
+        return principals.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    @Override
+    public void invalidate(CacheRegion region, Set<Long> keys) {
+        if (region == CacheRegion.USER) {
+            principals.asMap().values().removeIf(principal -> principal instanceof User user
+                    && keys.contains(user.getId()));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.bookshelf.service;
+
+import com.bookshelf.dto.book.response.BookImportReportDto;
+import com.bookshelf.importing.BookImportFormat;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportReportDto importBooks(InputStream feed, BookImportFormat format, String jobId);
+}
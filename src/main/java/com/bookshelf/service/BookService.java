@@ -2,9 +2,12 @@ package com.bookshelf.service;
 
 import com.bookshelf.dto.book.request.BookSearchParameters;
 import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.dto.book.response.BookCursorPageDto;
 import com.bookshelf.dto.book.response.BookDto;
 import com.bookshelf.dto.book.response.BookDtoWithoutCategoryIds;
+import com.bookshelf.dto.book.response.BookSuggestionDto;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Pageable;
 
 public interface BookService {
@@ -12,14 +15,27 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    BookCursorPageDto findAllAfter(String after, Pageable pageable);
+
+    void exportAll(Consumer<BookDto> consumer);
+
     BookDto getById(Long id);
 
-    BookDto update(Long id, CreateBookRequestDto requestDto);
+    long getVersionById(Long id);
+
+    BookDto update(Long id, CreateBookRequestDto requestDto, Long expectedVersion);
 
     void deleteById(Long id);
 
     List<BookDto> search(BookSearchParameters bookSearchParameters, Pageable pageable);
 
+    BookCursorPageDto searchAfter(
+            BookSearchParameters bookSearchParameters, String after, Pageable pageable);
+
+    boolean isSearchTruncated(BookSearchParameters bookSearchParameters);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
+
     List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, Pageable pageable);
 
     void checkBookById(Long id);
@@ -10,6 +10,8 @@ public interface CategoryService {
 
     CategoryDto getById(Long id);
 
+    long getVersionById(Long id);
+
     CategoryDto save(CategoryDtoRequest request);
 
     CategoryDto update(Long id, CategoryDtoRequest request);
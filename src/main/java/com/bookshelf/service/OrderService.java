@@ -4,10 +4,12 @@ import com.bookshelf.dto.order.request.ShippingAddressRequestDto;
 import com.bookshelf.dto.order.request.StatusRequestDto;
 import com.bookshelf.dto.order.response.OrderDto;
 import com.bookshelf.dto.order.response.OrderItemDto;
+import com.bookshelf.dto.order.response.OrderSummaryPageDto;
 import java.util.Set;
+import org.springframework.data.domain.Pageable;
 
 public interface OrderService {
-    Set<OrderDto> getHistory(Long userId);
+    OrderSummaryPageDto getHistory(Long userId, String after, Pageable pageable);
 
     OrderDto createOrder(Long userId, ShippingAddressRequestDto request);
 
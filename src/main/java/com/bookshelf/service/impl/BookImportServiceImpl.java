@@ -0,0 +1,204 @@
+package com.bookshelf.service.impl;
+
+import com.bookshelf.cache.CacheRegion;
+import com.bookshelf.cache.InvalidationBus;
+import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.dto.book.response.BookImportErrorDto;
+import com.bookshelf.dto.book.response.BookImportReportDto;
+import com.bookshelf.exception.BookImportException;
+import com.bookshelf.exception.EntityNotFoundException;
+import com.bookshelf.importing.BookImportBatch;
+import com.bookshelf.importing.BookImportCheckpoint;
+import com.bookshelf.importing.BookImportCheckpointStore;
+import com.bookshelf.importing.BookImportFormat;
+import com.bookshelf.importing.BookImportProgress;
+import com.bookshelf.importing.BookImportReader;
+import com.bookshelf.importing.BookImportRow;
+import com.bookshelf.importing.BookImportWriter;
+import com.bookshelf.model.Category;
+import com.bookshelf.repository.category.CategoryRepository;
+import com.bookshelf.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private final BookImportWriter bookImportWriter;
+    private final BookImportCheckpointStore checkpointStore;
+    private final CategoryRepository categoryRepository;
+    private final InvalidationBus invalidationBus;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    public BookImportServiceImpl(
+            BookImportWriter bookImportWriter,
+            BookImportCheckpointStore checkpointStore,
+            CategoryRepository categoryRepository,
+            InvalidationBus invalidationBus,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${import.books.workers:4}") int workers,
+            @Value("${import.books.batch-size:1000}") int batchSize,
+            @Value("${import.books.queue-capacity:8}") int queueCapacity) {
+        this.bookImportWriter = bookImportWriter;
+        this.checkpointStore = checkpointStore;
+        this.categoryRepository = categoryRepository;
+        this.invalidationBus = invalidationBus;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public BookImportReportDto importBooks(
+            InputStream feed, BookImportFormat format, String jobId) {
+        BookImportCheckpoint checkpoint = jobId == null
+                ? checkpointStore.start()
+                : checkpointStore.resume(jobId).orElseThrow(
+                        () -> new EntityNotFoundException("Can't find import job by id: " + jobId));
+        BookImportProgress progress = new BookImportProgress(checkpoint, checkpointStore::save);
+        Map<String, Long> categoryIds = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(category -> normalize(category.getName()),
+                        Category::getId, (first, second) -> first));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            BookImportReader reader = format.open(new BufferedReader(
+                    new InputStreamReader(feed, StandardCharsets.UTF_8)), objectMapper);
+            List<Future<?>> results = new ArrayList<>();
+            long sequence = 0;
+            List<BookImportRow> rows = new ArrayList<>(batchSize);
+            for (BookImportRow row = reader.next(); row != null; row = reader.next()) {
+                if (row.number() <= checkpoint.committedRows()) {
+                    continue;
+                }
+                rows.add(row);
+                if (rows.size() == batchSize) {
+                    BookImportBatch batch = new BookImportBatch(sequence++, rows);
+                    results.add(executor.submit(() -> process(batch, categoryIds, progress)));
+                    rows = new ArrayList<>(batchSize);
+                }
+            }
+            if (!rows.isEmpty()) {
+                BookImportBatch batch = new BookImportBatch(sequence, rows);
+                results.add(executor.submit(() -> process(batch, categoryIds, progress)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (IOException | ExecutionException e) {
+            throw failed(checkpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failed(checkpoint, e);
+        } catch (RuntimeException e) {
+            checkpointStore.updateStatus(checkpoint.jobId(),
+                    BookImportCheckpointStore.Status.FAILED);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+        checkpointStore.updateStatus(checkpoint.jobId(),
+                BookImportCheckpointStore.Status.COMPLETED);
+        return progress.toReport();
+    }
+
+    private void process(BookImportBatch batch, Map<String, Long> categoryIds,
+                         BookImportProgress progress) {
+        List<BookImportErrorDto> errors = new ArrayList<>();
+        List<BookImportRow> validRows = new ArrayList<>();
+        for (BookImportRow row : batch.rows()) {
+            String error = validate(row, categoryIds);
+            if (error == null) {
+                validRows.add(row);
+            } else {
+                errors.add(new BookImportErrorDto(row.number(), error));
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        if (!validRows.isEmpty()) {
+            try {
+                ids.addAll(bookImportWriter.write(validRows.stream()
+                        .map(BookImportRow::book)
+                        .toList()));
+            } catch (DataAccessException e) {
+                for (BookImportRow row : validRows) {
+                    try {
+                        ids.addAll(bookImportWriter.write(List.of(row.book())));
+                    } catch (DataAccessException rowException) {
+                        errors.add(new BookImportErrorDto(row.number(),
+                                rowException.getMostSpecificCause().getMessage()));
+                    }
+                }
+            }
+        }
+        invalidationBus.invalidateAll(CacheRegion.BOOK, ids);
+        progress.complete(batch, batch.rows().size() - errors.size(), errors);
+    }
+
+    private String validate(BookImportRow row, Map<String, Long> categoryIds) {
+        if (row.isFailed()) {
+            return row.error();
+        }
+        CreateBookRequestDto book = row.book();
+        Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        Set<Long> resolved = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String category : row.categories()) {
+            Long categoryId = categoryIds.get(normalize(category));
+            if (categoryId == null) {
+                unknown.add(category);
+            } else {
+                resolved.add(categoryId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            return "unknown categories: " + String.join(", ", unknown);
+        }
+        book.setCategoryIds(resolved);
+        return null;
+    }
+
+    private String normalize(String categoryName) {
+        return categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private BookImportException failed(BookImportCheckpoint checkpoint, Exception cause) {
+        checkpointStore.updateStatus(checkpoint.jobId(), BookImportCheckpointStore.Status.FAILED);
+        return new BookImportException("Import job " + checkpoint.jobId()
+                + " failed, restart it with the same feed and jobId to continue", cause);
+    }
+}
@@ -1,50 +1,105 @@
 package com.bookshelf.service.impl;
 
+import com.bookshelf.cache.BookCache;
 import com.bookshelf.dto.book.request.BookSearchParameters;
 import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.dto.book.response.BookCursorPageDto;
 import com.bookshelf.dto.book.response.BookDto;
 import com.bookshelf.dto.book.response.BookDtoWithoutCategoryIds;
+import com.bookshelf.dto.book.response.BookSuggestionDto;
+import com.bookshelf.event.BookChangedEvent;
 import com.bookshelf.exception.EntityNotFoundException;
+import com.bookshelf.exception.InvalidCursorException;
+import com.bookshelf.exception.VersionMismatchException;
 import com.bookshelf.mapper.BookMapper;
 import com.bookshelf.model.Book;
+import com.bookshelf.repository.book.BookKeysetCursor;
 import com.bookshelf.repository.book.BookRepository;
 import com.bookshelf.repository.book.BookSpecificationBuilder;
+import com.bookshelf.retry.RetryOnConflict;
+import com.bookshelf.search.BookSearchIndex;
+import com.bookshelf.search.BookSuggestionIndex;
 import com.bookshelf.service.BookService;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int FULL_TEXT_CANDIDATE_BATCH = 1000;
+    private static final String ID = "id";
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookCache bookCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookDto save(CreateBookRequestDto requestDto) {
         Book entity = bookMapper.toEntity(requestDto);
-        return bookMapper.toDto(bookRepository.save(entity));
+        Book savedBook = bookRepository.save(entity);
+        eventPublisher.publishEvent(BookChangedEvent.saved(savedBook));
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDto> findAll(Pageable pageable) {
         return bookRepository.findAllWithCategories(pageable).stream()
                 .map(bookMapper::toDto)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BookCursorPageDto findAllAfter(String after, Pageable pageable) {
+        return searchAfter(new BookSearchParameters(), after, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<BookDto> consumer) {
+        try (Stream<Book> books = bookRepository.streamAllWithCategories()) {
+            books.map(bookMapper::toDto)
+                    .forEach(consumer);
+        }
+    }
+
     @Override
     public BookDto getById(Long id) {
-        return bookMapper.toDto(bookById(id));
+        return bookCache.getBook(id, bookId -> bookMapper.toDto(bookById(bookId)));
+    }
+
+    @Override
+    public long getVersionById(Long id) {
+        return bookRepository.findVersionById(id).orElseThrow(
+                () -> new EntityNotFoundException("Can't find book by id: " + id));
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
-    public BookDto update(Long id, CreateBookRequestDto requestDto) {
+    public BookDto update(Long id, CreateBookRequestDto requestDto, Long expectedVersion) {
         Book book = bookById(id);
+        if (expectedVersion != null && expectedVersion != book.getVersion()) {
+            throw new VersionMismatchException("Book " + id + " has version "
+                    + book.getVersion() + ", expected " + expectedVersion);
+        }
         book.setTitle(requestDto.getTitle());
         book.setAuthor(requestDto.getAuthor());
         book.setIsbn(requestDto.getIsbn());
@@ -52,25 +107,74 @@ public class BookServiceImpl implements BookService {
         book.setDescription(requestDto.getDescription());
         book.setCoverImage(requestDto.getCoverImage());
         bookMapper.setCategories(book, requestDto);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.saveAndFlush(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(savedBook));
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
+    @RetryOnConflict
     public void deleteById(Long id) {
         checkBookById(id);
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDto> search(BookSearchParameters bookSearchParameters, Pageable pageable) {
-        return bookRepository.findAll(bookSpecificationBuilder.build(bookSearchParameters),
-                        pageable)
+        if (StringUtils.hasText(bookSearchParameters.getQuery())) {
+            return bookRepository.findAllWithCategoriesByIds(
+                            searchFullText(bookSearchParameters, pageable))
+                    .stream()
+                    .map(bookMapper::toDto)
+                    .toList();
+        }
+        return bookRepository.findAllWithCategories(
+                        bookSpecificationBuilder.build(bookSearchParameters), pageable)
                 .stream()
                 .map(bookMapper::toDto)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BookCursorPageDto searchAfter(
+            BookSearchParameters bookSearchParameters, String after, Pageable pageable) {
+        if (StringUtils.hasText(bookSearchParameters.getQuery())) {
+            throw new InvalidCursorException("Can't page full-text search results by cursor");
+        }
+        BookKeysetCursor cursor = after.isEmpty()
+                ? BookKeysetCursor.first(pageable.getSort())
+                : BookKeysetCursor.decode(after);
+        int limit = Math.min(pageable.getPageSize(), MAX_CURSOR_PAGE_SIZE);
+        List<Long> ids = bookRepository.findIdsAfter(
+                bookSpecificationBuilder.build(bookSearchParameters), cursor, limit + 1);
+        List<Book> books = bookRepository.findAllWithCategoriesByIds(
+                ids.subList(0, Math.min(ids.size(), limit)));
+        BookCursorPageDto page = new BookCursorPageDto();
+        page.setBooks(books.stream()
+                .map(bookMapper::toDto)
+                .toList());
+        if (ids.size() > limit && !books.isEmpty()) {
+            page.setNextCursor(cursor.next(books.get(books.size() - 1)).encode());
+        }
+        return page;
+    }
+
+    @Override
+    public boolean isSearchTruncated(BookSearchParameters bookSearchParameters) {
+        return StringUtils.hasText(bookSearchParameters.getQuery())
+                && bookSearchIndex.isExpansionTruncated(bookSearchParameters.getQuery());
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        return bookSuggestionIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(
             Long categoryId, Pageable pageable) {
         return bookRepository.findAllByCategoryId(categoryId, pageable).stream()
@@ -80,11 +184,63 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public void checkBookById(Long id) {
-        if (!bookRepository.existsById(id)) {
+        if (!bookCache.exists(id, bookRepository::existsById)) {
             throw new EntityNotFoundException("Can't find book by id: " + id);
         }
     }
 
+    private List<Long> searchFullText(
+            BookSearchParameters bookSearchParameters, Pageable pageable) {
+        int offset = (int) pageable.getOffset();
+        int end = offset + pageable.getPageSize();
+        List<Long> rankedIds = hasFieldFilters(bookSearchParameters)
+                ? filterRanked(bookSearchParameters, end)
+                : bookSearchIndex.search(bookSearchParameters.getQuery(), end);
+        return rankedIds.subList(Math.min(offset, rankedIds.size()),
+                Math.min(end, rankedIds.size()));
+    }
+
+    private List<Long> filterRanked(BookSearchParameters bookSearchParameters, int end) {
+        List<Long> matchingIds = new ArrayList<>();
+        int limit = 0;
+        int filtered = 0;
+        List<Long> rankedIds;
+        do {
+            limit = limit == 0
+                    ? FULL_TEXT_CANDIDATE_BATCH
+                    : (int) Math.min(2L * limit, Integer.MAX_VALUE);
+            rankedIds = bookSearchIndex.search(bookSearchParameters.getQuery(), limit);
+            for (int from = filtered; from < rankedIds.size() && matchingIds.size() < end;
+                    from += FULL_TEXT_CANDIDATE_BATCH) {
+                matchingIds.addAll(filterMatching(bookSearchParameters, rankedIds.subList(
+                        from, Math.min(from + FULL_TEXT_CANDIDATE_BATCH, rankedIds.size()))));
+            }
+            filtered = rankedIds.size();
+        } while (matchingIds.size() < end && rankedIds.size() == limit);
+        return matchingIds;
+    }
+
+    private List<Long> filterMatching(
+            BookSearchParameters bookSearchParameters, List<Long> rankedIds) {
+        Specification<Book> inRanked = (root, query, criteriaBuilder) ->
+                root.get(ID).in(rankedIds);
+        Set<Long> matchingIds = new HashSet<>(bookRepository.findIds(
+                Specification.where(bookSpecificationBuilder.build(bookSearchParameters))
+                        .and(inRanked),
+                Pageable.unpaged()));
+        return rankedIds.stream()
+                .filter(matchingIds::contains)
+                .toList();
+    }
+
+    private boolean hasFieldFilters(BookSearchParameters bookSearchParameters) {
+        return Stream.of(bookSearchParameters.getTitles(),
+                        bookSearchParameters.getAuthors(),
+                        bookSearchParameters.getIsbn(),
+                        bookSearchParameters.getPrice())
+                .anyMatch(param -> param != null && param.length > 0);
+    }
+
     private Book bookById(Long id) {
         return bookRepository.findByIdWithCategories(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find book by id: " + id));
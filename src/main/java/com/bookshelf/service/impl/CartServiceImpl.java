@@ -3,9 +3,10 @@ package com.bookshelf.service.impl;
 import com.bookshelf.dto.cart.request.CreateCartItemDto;
 import com.bookshelf.dto.cart.request.PutCartItemDto;
 import com.bookshelf.dto.cart.response.CartDto;
+import com.bookshelf.dto.cart.response.CartItemDto;
 import com.bookshelf.dto.cart.response.CartItemDtoResponse;
 import com.bookshelf.exception.EntityNotFoundException;
-import com.bookshelf.mapper.BookMapper;
+import com.bookshelf.exception.VersionMismatchException;
 import com.bookshelf.mapper.CartItemMapper;
 import com.bookshelf.mapper.CartMapper;
 import com.bookshelf.model.CartItem;
@@ -14,9 +15,10 @@ import com.bookshelf.model.User;
 import com.bookshelf.repository.cart.CartRepository;
 import com.bookshelf.repository.cart.item.CartItemRepository;
 import com.bookshelf.repository.user.UserRepository;
+import com.bookshelf.retry.RetryOnConflict;
 import com.bookshelf.service.BookService;
 import com.bookshelf.service.CartService;
-import java.util.Optional;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,7 +29,6 @@ public class CartServiceImpl implements CartService {
     private final CartRepository cartRepository;
     private final CartMapper cartMapper;
     private final UserRepository userRepository;
-    private final BookMapper bookMapper;
     private final BookService bookService;
     private final CartItemMapper cartItemMapper;
     private final CartItemRepository cartItemRepository;
@@ -35,77 +36,59 @@ public class CartServiceImpl implements CartService {
     @Override
     @Transactional
     public CartDto getCartInfo(Long userId) {
-        ShoppingCart cart = findCart(userId);
-        return cartMapper.toCartDto(cart);
+        List<CartItemDto> cartItems = cartItemRepository.findCartItemDtos(userId);
+        if (cartItems.isEmpty() && !cartRepository.existsById(userId)) {
+            createCart(userId);
+        }
+        return cartMapper.toCartDto(userId, cartItems);
     }
 
     @Override
     @Transactional
     public CartItemDtoResponse createCartItem(Long userId, CreateCartItemDto request) {
-        ShoppingCart cart = findCart(userId);
-        Optional<CartItem> optionalCartItem = findCartItemByBookId(cart, request.getBookId());
-        if (optionalCartItem.isPresent()) {
-            PutCartItemDto putCartItemDto = new PutCartItemDto();
-            putCartItemDto.setQuantity(
-                    request.getQuantity() + optionalCartItem.get().getQuantity());
-            return updateCartItem(userId,
-                    optionalCartItem.get().getId(),
-                    putCartItemDto);
-        }
         checkIsBookValid(request.getBookId());
-        CartItem item = new CartItem();
-        item.setShoppingCart(cart);
-        item.setBook(bookMapper.bookFromId(request.getBookId()));
-        item.setQuantity(request.getQuantity());
-        cartItemRepository.save(item);
+        lockCart(userId);
+        cartItemRepository.addQuantity(userId, request.getBookId(), request.getQuantity());
+        CartItem item = cartItemRepository.findByShoppingCart_IdAndBook_Id(
+                userId, request.getBookId()).orElseThrow(
+                    () -> new EntityNotFoundException("Can't find cart item by book id: "
+                            + request.getBookId()));
         return cartItemMapper.toCreateDtoResponse(item);
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public CartItemDtoResponse updateCartItem(
             Long userId,
             Long cartItemId,
             PutCartItemDto request) {
-        CartItem item = findCartItemById(findCart(userId), cartItemId);
+        CartItem item = findCartItemById(userId, cartItemId);
+        if (request.getVersion() != null && request.getVersion() != item.getVersion()) {
+            throw new VersionMismatchException("Cart item " + cartItemId + " has version "
+                    + item.getVersion() + ", expected " + request.getVersion());
+        }
         item.setQuantity(request.getQuantity());
-        cartItemRepository.save(item);
+        cartItemRepository.saveAndFlush(item);
         return cartItemMapper.toCreateDtoResponse(item);
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public void removeCartItem(Long userId, Long cartItemId) {
-        cartItemRepository.delete(findCartItemById(findCart(userId), cartItemId));
+        cartItemRepository.delete(findCartItemById(userId, cartItemId));
     }
 
     @Override
     @Transactional
     public void clearCart(Long userId) {
-        checkUserById(userId);
-        cartItemRepository.deleteAllByShoppingCart(findCart(userId));
-    }
-
-    private ShoppingCart findCart(Long userId) {
-        Optional<ShoppingCart> cart = cartRepository.getShoppingCartByUser_Id(userId);
-        return cart.orElseGet(() -> cart.orElse(createCart(userId)));
-    }
-
-    private CartItem findCartItemById(ShoppingCart cart, Long cartItemId) {
-        return cart.getCartItems().stream().filter(i -> i.getId()
-                .equals(cartItemId))
-                .findFirst()
-                .orElseThrow(
-                    () -> new EntityNotFoundException("Can't find cart item by id: " + cartItemId)
-        );
+        cartItemRepository.deleteAllByCartId(userId);
     }
 
-    private Optional<CartItem> findCartItemByBookId(ShoppingCart cart, Long bookId) {
-        return cart.getCartItems().stream()
-                .filter(c -> c.getBook()
-                        .getId()
-                        .equals(bookId))
-                .findFirst();
+    private CartItem findCartItemById(Long cartId, Long cartItemId) {
+        return cartItemRepository.findByIdAndShoppingCart_Id(cartItemId, cartId).orElseThrow(
+                () -> new EntityNotFoundException("Can't find cart item by id: " + cartItemId));
     }
 
     private User findUserById(Long userId) {
@@ -122,13 +105,14 @@ public class CartServiceImpl implements CartService {
         return cartRepository.save(cart);
     }
 
-    private void checkIsBookValid(Long bookId) {
-        bookService.checkBookById(bookId);
+    private void lockCart(Long userId) {
+        if (!cartRepository.existsById(userId)) {
+            findUserById(userId);
+        }
+        cartRepository.createOrLock(userId);
     }
 
-    private void checkUserById(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("Can't find user by id: " + userId);
-        }
+    private void checkIsBookValid(Long bookId) {
+        bookService.checkBookById(bookId);
     }
 }
@@ -2,13 +2,17 @@ package com.bookshelf.service.impl;
 
 import com.bookshelf.dto.category.request.CategoryDtoRequest;
 import com.bookshelf.dto.category.response.CategoryDto;
+import com.bookshelf.event.CategoryChangedEvent;
 import com.bookshelf.exception.EntityNotFoundException;
 import com.bookshelf.mapper.CategoryMapper;
 import com.bookshelf.model.Category;
+import com.bookshelf.repository.book.BookRepository;
 import com.bookshelf.repository.category.CategoryRepository;
+import com.bookshelf.retry.RetryOnConflict;
 import com.bookshelf.service.CategoryService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,9 +21,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final BookRepository bookRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDto> findAll(Pageable pageable) {
         return categoryRepository.findAll(pageable).stream()
                 .map(categoryMapper::toDto).toList();
@@ -30,25 +37,39 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryMapper.toDto(categoryById(id));
     }
 
+    @Override
+    public long getVersionById(Long id) {
+        return categoryRepository.findVersionById(id).orElseThrow(
+                () -> new EntityNotFoundException("Can't find category by id: " + id));
+    }
+
     @Override
     public CategoryDto save(CategoryDtoRequest request) {
-        return categoryMapper.toDto(
-                categoryRepository.save(categoryMapper.toCategory(request)));
+        Category savedCategory = categoryRepository.save(categoryMapper.toCategory(request));
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
+        return categoryMapper.toDto(savedCategory);
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public CategoryDto update(Long id, CategoryDtoRequest request) {
         Category category = categoryById(id);
         category.setName(request.getName());
         category.setDescription(request.getDescription());
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category savedCategory = categoryRepository.saveAndFlush(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return categoryMapper.toDto(savedCategory);
     }
 
     @Override
+    @RetryOnConflict
+    @Transactional
     public void deleteById(Long id) {
         existsById(id);
+        bookRepository.incrementVersionsByCategoryId(id);
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     private Category categoryById(Long id) {
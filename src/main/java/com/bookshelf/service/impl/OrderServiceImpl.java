@@ -4,69 +4,104 @@ import com.bookshelf.dto.order.request.ShippingAddressRequestDto;
 import com.bookshelf.dto.order.request.StatusRequestDto;
 import com.bookshelf.dto.order.response.OrderDto;
 import com.bookshelf.dto.order.response.OrderItemDto;
+import com.bookshelf.dto.order.response.OrderSummaryDto;
+import com.bookshelf.dto.order.response.OrderSummaryPageDto;
 import com.bookshelf.exception.EntityNotFoundException;
+import com.bookshelf.exception.VersionMismatchException;
 import com.bookshelf.mapper.OrderItemMapper;
 import com.bookshelf.mapper.OrderMapper;
 import com.bookshelf.model.CartItem;
 import com.bookshelf.model.Order;
 import com.bookshelf.model.OrderItem;
-import com.bookshelf.model.ShoppingCart;
+import com.bookshelf.model.User;
 import com.bookshelf.repository.cart.CartRepository;
+import com.bookshelf.repository.cart.item.CartItemRepository;
 import com.bookshelf.repository.order.OrderItemRepository;
+import com.bookshelf.repository.order.OrderKeysetCursor;
 import com.bookshelf.repository.order.OrderRepository;
-import com.bookshelf.service.CartService;
+import com.bookshelf.repository.user.UserRepository;
+import com.bookshelf.retry.RetryOnConflict;
 import com.bookshelf.service.OrderService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
-    private final CartService cartService;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
     private final OrderItemMapper orderItemMapper;
     private final OrderMapper orderMapper;
+    private final UserRepository userRepository;
 
     @Override
     @Transactional
-    public Set<OrderDto> getHistory(Long userId) {
-        return orderRepository.findAllByUserId(userId).stream()
-                .map(orderMapper::toDto)
-                .collect(Collectors.toSet());
+    public OrderSummaryPageDto getHistory(Long userId, String after, Pageable pageable) {
+        int limit = Math.min(pageable.getPageSize(), MAX_PAGE_SIZE);
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<OrderSummaryDto> orders;
+        if (after == null || after.isEmpty()) {
+            orders = orderRepository.findSummaries(userId, window);
+        } else {
+            OrderKeysetCursor cursor = OrderKeysetCursor.decode(after);
+            orders = orderRepository.findSummariesAfter(
+                    userId, cursor.getLastDate(), cursor.getLastId(), window);
+        }
+        OrderSummaryPageDto page = new OrderSummaryPageDto();
+        page.setOrders(orders.subList(0, Math.min(orders.size(), limit)));
+        if (orders.size() > limit) {
+            page.setNextCursor(OrderKeysetCursor.after(orders.get(limit - 1)).encode());
+        }
+        return page;
     }
 
     @Override
     @Transactional
     public OrderDto createOrder(Long userId, ShippingAddressRequestDto request) {
-        ShoppingCart cart = cartRepository.getShoppingCartByUser_Id(userId).orElseThrow(
-                () -> new EntityNotFoundException("Can't find user with id" + userId)
-        );
-        Order order = formOrder(cart, request.getShippingAddress());
+        List<CartItem> cartItems = cartItemRepository.findAllWithBooksByCartId(userId);
+        if (cartItems.isEmpty() && !cartRepository.existsById(userId)) {
+            throw new EntityNotFoundException("Can't find user with id" + userId);
+        }
+        Order order = formOrder(userRepository.getReferenceById(userId), cartItems,
+                request.getShippingAddress());
         orderRepository.save(order);
         orderItemRepository.saveAll(order.getOrderItems());
-        cartService.clearCart(userId);
-        return orderMapper.toDto(order);
+        OrderDto orderDto = orderMapper.toDto(order);
+        cartItemRepository.deleteAllByCartId(userId);
+        return orderDto;
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public OrderDto updateStatus(Long orderId, StatusRequestDto request) {
         Order order = findOrderById(orderId);
+        if (request.getVersion() != null && request.getVersion() != order.getVersion()) {
+            throw new VersionMismatchException("Order " + orderId + " has version "
+                    + order.getVersion() + ", expected " + request.getVersion());
+        }
         order.setStatus(Order.Status.valueOf(request.getStatus().toUpperCase()));
-        return orderMapper.toDto(orderRepository.save(order));
+        return orderMapper.toDto(orderRepository.saveAndFlush(order));
     }
 
     @Override
     @Transactional
     public Set<OrderItemDto> getAllItems(Long orderId) {
-        findOrderById(orderId);
+        checkOrderById(orderId);
         return orderItemRepository.findAllByOrderId(orderId).stream()
                 .map(orderItemMapper::toDto)
                 .collect(Collectors.toSet());
@@ -75,39 +110,44 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderItemDto getItemById(Long orderId, Long itemId) {
-        return orderItemMapper.toDto(findOrderById(orderId).getOrderItems().stream()
-                .filter(i -> i.getId().equals(itemId))
-                .findFirst()
+        checkOrderById(orderId);
+        return orderItemMapper.toDto(orderItemRepository.findByIdAndOrder_Id(itemId, orderId)
                 .orElseThrow(
                         () -> new EntityNotFoundException("Can't find cart item by id " + itemId)
                 ));
     }
 
+    private void checkOrderById(Long orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new EntityNotFoundException("Can't find order by id " + orderId);
+        }
+    }
+
     private Order findOrderById(Long orderId) {
         return orderRepository.findById(orderId).orElseThrow(
                 () -> new EntityNotFoundException("Can't find order by id " + orderId));
     }
 
-    private Order formOrder(ShoppingCart cart, String address) {
+    static Order formOrder(User user, List<CartItem> cartItems, String address) {
         Order order = new Order();
-        order.setUser(cart.getUser());
+        order.setUser(user);
         order.setStatus(Order.Status.PENDING);
         order.setOrderDate(LocalDateTime.now());
         order.setShippingAddress(address);
-        order.setOrderItems(convertToOrderItems(cart.getCartItems(), order));
-        order.setTotal(calculatingTotals(cart.getCartItems()));
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem cartItem : cartItems) {
+            OrderItem orderItem = createOrderItem(cartItem, order);
+            orderItems.add(orderItem);
+            total = total.add(orderItem.getPrice());
+        }
+        order.setTotal(total);
+        order.setOrderItems(new HashSet<>(orderItems));
         return order;
     }
 
-    private Set<OrderItem> convertToOrderItems(Set<CartItem> cartItems, Order order) {
-        return cartItems.stream()
-                .map(cartItem -> createOrderItem(cartItem, order))
-                .collect(Collectors.toSet());
-    }
-
-    private OrderItem createOrderItem(CartItem cartItem, Order order) {
+    private static OrderItem createOrderItem(CartItem cartItem, Order order) {
         OrderItem orderItem = new OrderItem();
-        orderItem.setId(cartItem.getId());
         orderItem.setBook(cartItem.getBook());
         orderItem.setQuantity(cartItem.getQuantity());
         orderItem.setPrice(cartItem.getBook().getPrice().multiply(
@@ -115,12 +155,4 @@ public class OrderServiceImpl implements OrderService {
         orderItem.setOrder(order);
         return orderItem;
     }
-
-    private BigDecimal calculatingTotals(Set<CartItem> cartItems) {
-        return cartItems.stream()
-                .map(i -> i.getBook()
-                        .getPrice()
-                        .multiply(BigDecimal.valueOf(i.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
 }
@@ -4,6 +4,7 @@ import com.bookshelf.dto.user.request.UserRegistrationRequestDto;
 import com.bookshelf.dto.user.request.UserRegistrationRoleRequestDto;
 import com.bookshelf.dto.user.response.UserRegistrationResponseDto;
 import com.bookshelf.dto.user.response.UserRegistrationRoleResponseDto;
+import com.bookshelf.event.UserChangedEvent;
 import com.bookshelf.exception.RegistrationException;
 import com.bookshelf.mapper.UserMapper;
 import com.bookshelf.model.Role;
@@ -15,6 +16,7 @@ import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +34,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -62,12 +65,16 @@ public class UserServiceImpl implements UserService {
     public UserRegistrationRoleResponseDto setAsRole(String query) throws RegistrationException {
         User user = findByEmail(query);
         setRoles(user, prepareRole(query));
-        return userMapper.toRegistrationResponse(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return userMapper.toRegistrationResponse(savedUser);
     }
 
     @Override
     public void deleteByEmail(String email) {
-        userRepository.deleteById(findByEmail(email).getId());
+        Long id = findByEmail(email).getId();
+        userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     private boolean isExists(UserRegistrationRequestDto request) {
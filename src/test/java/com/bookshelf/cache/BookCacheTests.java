@@ -0,0 +1,68 @@
+package com.bookshelf.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.dto.book.response.BookDto;
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.model.Book;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookCacheTests {
+    private static final Long ID_ONE = 1L;
+    private static final long CACHE_SIZE = 100;
+    private static final long CACHE_EXPIRATION = 60000;
+
+    private BookCache bookCache;
+
+    @BeforeEach
+    void setUp() {
+        bookCache = new BookCache(CACHE_SIZE, CACHE_EXPIRATION);
+    }
+
+    @Test
+    @DisplayName("Count hits and misses of cached book dto")
+    public void getBook_RepeatedRequest_CountsHitAndMiss() {
+        AtomicInteger loads = new AtomicInteger();
+
+        bookCache.getBook(ID_ONE, id -> createBookDto(id, loads));
+        bookCache.getBook(ID_ONE, id -> createBookDto(id, loads));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, bookCache.getBookStats().hitCount());
+        assertEquals(1, bookCache.getBookStats().missCount());
+    }
+
+    @Test
+    @DisplayName("Load book dto again after the book was updated")
+    public void onBookChanged_SavedBook_BookDtoEvicted() {
+        AtomicInteger loads = new AtomicInteger();
+        bookCache.getBook(ID_ONE, id -> createBookDto(id, loads));
+
+        bookCache.onBookChanged(BookChangedEvent.saved(new Book(ID_ONE)));
+        bookCache.getBook(ID_ONE, id -> createBookDto(id, loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Don't report deleted book as existing")
+    public void onBookChanged_DeletedBook_ExistenceEvicted() {
+        assertTrue(bookCache.exists(ID_ONE, id -> true));
+
+        bookCache.onBookChanged(BookChangedEvent.deleted(ID_ONE));
+
+        assertFalse(bookCache.exists(ID_ONE, id -> false));
+    }
+
+    private BookDto createBookDto(Long id, AtomicInteger loads) {
+        loads.incrementAndGet();
+        BookDto bookDto = new BookDto();
+        bookDto.setId(id);
+        return bookDto;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bookshelf.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.event.CategoryChangedEvent;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class InvalidationBusTests {
+    private static final Long ID_ONE = 1L;
+    private static final Long ID_TWO = 2L;
+
+    @Mock
+    private InvalidationTransport transport;
+    @Mock
+    private InvalidationSubscriber subscriber;
+    @Captor
+    private ArgumentCaptor<Collection<Invalidation>> batchCaptor;
+
+    private InvalidationBus invalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus = new InvalidationBus(transport, List.of(subscriber));
+    }
+
+    @Test
+    @DisplayName("Send repeated invalidations of the same book once")
+    public void flush_RepeatedInvalidations_SentInOneCoalescedBatch() {
+        invalidationBus.onBookChanged(BookChangedEvent.deleted(ID_ONE));
+        invalidationBus.onBookChanged(BookChangedEvent.deleted(ID_ONE));
+        invalidationBus.onBookChanged(BookChangedEvent.deleted(ID_TWO));
+
+        invalidationBus.flush();
+        invalidationBus.flush();
+
+        verify(transport).send(anyString(), batchCaptor.capture());
+        assertEquals(Set.of(new Invalidation(CacheRegion.BOOK, ID_ONE),
+                        new Invalidation(CacheRegion.BOOK, ID_TWO)),
+                Set.copyOf(batchCaptor.getValue()));
+    }
+
+    @Test
+    @DisplayName("Deliver invalidations from other nodes grouped by region")
+    public void poll_ReceivedInvalidations_DispatchedByRegion() {
+        when(transport.receive(anyString())).thenReturn(List.of(
+                new Invalidation(CacheRegion.BOOK, ID_ONE),
+                new Invalidation(CacheRegion.BOOK, ID_TWO),
+                new Invalidation(CacheRegion.BOOK, ID_ONE),
+                new Invalidation(CacheRegion.CATEGORY, ID_ONE)));
+
+        invalidationBus.poll();
+
+        verify(subscriber).invalidate(CacheRegion.BOOK, Set.of(ID_ONE, ID_TWO));
+        verify(subscriber).invalidate(CacheRegion.CATEGORY, Set.of(ID_ONE));
+    }
+
+    @Test
+    @DisplayName("Apply category change locally before sending it to other nodes")
+    public void onCategoryChanged_ChangedCategory_DispatchedLocallyAndQueued() {
+        invalidationBus.onCategoryChanged(new CategoryChangedEvent(ID_ONE));
+
+        verify(subscriber).invalidate(CacheRegion.CATEGORY, Set.of(ID_ONE));
+        verify(transport, never()).send(anyString(), any());
+
+        invalidationBus.flush();
+
+        verify(transport).send(anyString(),
+                eq(List.of(new Invalidation(CacheRegion.CATEGORY, ID_ONE))));
+    }
+}
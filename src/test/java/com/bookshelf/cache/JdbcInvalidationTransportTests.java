@@ -0,0 +1,106 @@
+package com.bookshelf.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JdbcInvalidationTransportTests {
+    private static final String FIRST_NODE = "first-node";
+    private static final String SECOND_NODE = "second-node";
+    private static final String DELETE_ALL = "DELETE FROM cache_invalidations";
+    private static final long RETENTION = 60000;
+    private static final long GAP_TIMEOUT = 60000;
+    private static final Invalidation FIRST_INVALIDATION =
+            new Invalidation(CacheRegion.BOOK, 1L);
+    private static final Invalidation SECOND_INVALIDATION =
+            new Invalidation(CacheRegion.CATEGORY, 2L);
+    private static final List<Invalidation> INVALIDATIONS =
+            List.of(FIRST_INVALIDATION, SECOND_INVALIDATION);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcInvalidationTransport firstTransport;
+    private JdbcInvalidationTransport secondTransport;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(DELETE_ALL);
+        firstTransport = new JdbcInvalidationTransport(jdbcTemplate, RETENTION, GAP_TIMEOUT);
+        secondTransport = new JdbcInvalidationTransport(jdbcTemplate, RETENTION, GAP_TIMEOUT);
+        firstTransport.start();
+        secondTransport.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update(DELETE_ALL);
+    }
+
+    @Test
+    @DisplayName("Receive invalidations sent by another node")
+    public void receive_SentByAnotherNode_ReturnsInvalidationsInOrder() {
+        firstTransport.send(FIRST_NODE, INVALIDATIONS);
+
+        assertEquals(INVALIDATIONS, secondTransport.receive(SECOND_NODE));
+        assertTrue(secondTransport.receive(SECOND_NODE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Don't receive own invalidations")
+    public void receive_SentBySameNode_ReturnsEmptyList() {
+        firstTransport.send(FIRST_NODE, INVALIDATIONS);
+
+        assertTrue(firstTransport.receive(FIRST_NODE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Receive invalidations sent after start before the first poll")
+    public void receive_SentBeforeFirstPoll_ReturnsInvalidations() {
+        JdbcInvalidationTransport startingTransport =
+                new JdbcInvalidationTransport(jdbcTemplate, RETENTION, GAP_TIMEOUT);
+        startingTransport.start();
+
+        firstTransport.send(FIRST_NODE, INVALIDATIONS);
+
+        assertEquals(INVALIDATIONS, startingTransport.receive(SECOND_NODE));
+    }
+
+    @Test
+    @DisplayName("Receive invalidation whose lower id was committed after a higher one")
+    public void receive_LowerIdCommittedLater_ReturnsBothInvalidations() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<Invalidation> beforeLowerCommit = requiresNew.execute(lower -> {
+            firstTransport.send(FIRST_NODE, List.of(FIRST_INVALIDATION));
+            requiresNew.executeWithoutResult(higher ->
+                    firstTransport.send(FIRST_NODE, List.of(SECOND_INVALIDATION)));
+            return requiresNew.execute(read -> secondTransport.receive(SECOND_NODE));
+        });
+
+        assertEquals(List.of(SECOND_INVALIDATION), beforeLowerCommit);
+        assertEquals(List.of(FIRST_INVALIDATION), secondTransport.receive(SECOND_NODE));
+        assertTrue(secondTransport.receive(SECOND_NODE).isEmpty());
+    }
+}
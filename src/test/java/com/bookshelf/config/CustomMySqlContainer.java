@@ -21,9 +21,12 @@ public class CustomMySqlContainer extends MySQLContainer<CustomMySqlContainer> {
     @Override
     public void start() {
         super.start();
-        System.getProperty("TEST_DB_URL", mySqlContainer.getJdbcUrl());
-        System.getProperty("TEST_DB_USERNAME", mySqlContainer.getUsername());
-        System.getProperty("TEST_DB_PASSWORD", mySqlContainer.getPassword());
+        System.setProperty("TEST_DB_URL", mySqlContainer.getJdbcUrl());
+        System.setProperty("TEST_DB_USERNAME", mySqlContainer.getUsername());
+        System.setProperty("TEST_DB_PASSWORD", mySqlContainer.getPassword());
+        System.setProperty("TEST_R2DBC_URL", "r2dbc:mysql://" + mySqlContainer.getHost() + ":"
+                + mySqlContainer.getMappedPort(MYSQL_PORT) + "/"
+                + mySqlContainer.getDatabaseName());
     }
 
     @Override
@@ -0,0 +1,72 @@
+package com.bookshelf.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+
+public final class ReplicatedMySqlContainers {
+    private static final String DB_IMAGE = "mysql:8.0";
+    private static final String DATABASE_NAME = "product_test_db";
+    private static final String USERNAME = "root";
+    private static final String PASSWORD = "qwerty123";
+    private static final String PRIMARY_ALIAS = "primary";
+    private static final int PRIMARY_SERVER_ID = 1;
+    private static final int REPLICA_SERVER_ID = 2;
+
+    private static MySQLContainer<?> primary;
+    private static MySQLContainer<?> replica;
+
+    private ReplicatedMySqlContainers() {
+    }
+
+    public static synchronized void start() {
+        if (primary != null) {
+            return;
+        }
+        Network network = Network.newNetwork();
+        primary = createContainer(network, PRIMARY_SERVER_ID)
+                .withNetworkAliases(PRIMARY_ALIAS);
+        replica = createContainer(network, REPLICA_SERVER_ID);
+        primary.start();
+        replica.start();
+        execute(primary, "RESET MASTER");
+        execute(replica, "CHANGE REPLICATION SOURCE TO SOURCE_HOST = '" + PRIMARY_ALIAS
+                + "', SOURCE_PORT = " + MySQLContainer.MYSQL_PORT
+                + ", SOURCE_USER = '" + USERNAME + "', SOURCE_PASSWORD = '" + PASSWORD
+                + "', SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1");
+        execute(replica, "START REPLICA");
+        System.setProperty("TEST_PRIMARY_DB_URL", primary.getJdbcUrl());
+        System.setProperty("TEST_REPLICA_DB_URL", replica.getJdbcUrl());
+        System.setProperty("TEST_REPLICATION_DB_USERNAME", USERNAME);
+        System.setProperty("TEST_REPLICATION_DB_PASSWORD", PASSWORD);
+    }
+
+    public static int getPrimaryServerId() {
+        return PRIMARY_SERVER_ID;
+    }
+
+    public static int getReplicaServerId() {
+        return REPLICA_SERVER_ID;
+    }
+
+    private static MySQLContainer<?> createContainer(Network network, int serverId) {
+        return new MySQLContainer<>(DB_IMAGE)
+                .withDatabaseName(DATABASE_NAME)
+                .withUsername(USERNAME)
+                .withPassword(PASSWORD)
+                .withNetwork(network)
+                .withCommand("--server-id=" + serverId, "--log-bin=mysql-bin",
+                        "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+    }
+
+    private static void execute(MySQLContainer<?> container, String sql) {
+        try (Connection connection = container.createConnection("");
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can't configure replication: " + sql, e);
+        }
+    }
+}
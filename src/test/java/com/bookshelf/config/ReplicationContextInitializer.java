@@ -0,0 +1,13 @@
+package com.bookshelf.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public class ReplicationContextInitializer
+        implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+    @Override
+    public void initialize(@NotNull ConfigurableApplicationContext configurableApplicationContext) {
+        ReplicatedMySqlContainers.start();
+    }
+}
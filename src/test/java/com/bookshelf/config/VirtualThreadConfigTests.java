@@ -0,0 +1,46 @@
+package com.bookshelf.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = VirtualThreadConfig.ENABLED + "=true")
+public class VirtualThreadConfigTests {
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    @DisplayName("Tomcat serves requests on virtual threads when they are enabled")
+    public void tomcatExecutor_VirtualThreadsEnabled_RunsOnVirtualThread() throws Exception {
+        Executor executor = ((TomcatWebServer) applicationContext.getWebServer()).getTomcat()
+                .getConnector()
+                .getProtocolHandler()
+                .getExecutor();
+
+        assertTrue(CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().isVirtual(), executor).get());
+    }
+
+    @Test
+    @DisplayName("Async MVC work runs on virtual threads when they are enabled")
+    public void applicationTaskExecutor_VirtualThreadsEnabled_RunsOnVirtualThread()
+            throws Exception {
+        assertTrue(applicationTaskExecutor.submit(
+                () -> Thread.currentThread().isVirtual()).get());
+    }
+}
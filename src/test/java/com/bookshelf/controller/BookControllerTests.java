@@ -1,13 +1,19 @@
 package com.bookshelf.controller;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.bookshelf.dto.book.request.BookSearchParameters;
@@ -15,12 +21,17 @@ import com.bookshelf.dto.book.request.CreateBookRequestDto;
 import com.bookshelf.dto.book.response.BookDto;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -29,11 +40,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -45,6 +59,19 @@ public class BookControllerTests {
     private static final String ADD_ONE_CATEGORY = "classpath:database/books/add-one-category.sql";
     private static final String ADD_ONE_BOOK_WITH_CATEGORY =
             "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String ADD_THREE_BOOKS_WITH_CATEGORY =
+            "classpath:database/books/add-three-books-with-first-category.sql";
+    private static final String SOFT_DELETE_SECOND_BOOK =
+            "classpath:database/books/soft-delete-second-book.sql";
+    private static final String ADD_SECOND_CATEGORY_TO_FIRST_BOOK =
+            "classpath:database/books/add-second-category-to-first-book.sql";
+    private static final String GZIP = "gzip";
+    private static final String PRIVATE_CACHE = "private";
+    private static final String OUTDATED_BOOK_ETAG = "\"book-1-7\"";
+    private static final String OUTDATED_BOOK_MESSAGE = "Book 1 has version 0, expected 7";
+    private static final Long INITIAL_VERSION = 0L;
+    private static final Long NEXT_VERSION = 1L;
+    private static final String STORED_TITLE = "The Book";
     private static final String ACCESS_DENIED_MESSAGE = "Access Denied";
     private static final String TEST_MANAGER_CREDENTIALS = "admin";
     private static final String TEST_MANAGER_ROLE = "MANAGER";
@@ -375,6 +402,92 @@ public class BookControllerTests {
                 .andReturn();
     }
 
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Get book by correct id with current ETag")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void getById_CurrentEtag_ReturnsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        containsString(PRIVATE_CACHE)))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult notModified = mockMvc.perform(get("/books/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+
+        assertTrue(notModified.getResponse().getContentAsString().isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Get book by correct id with outdated ETag")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void getById_OutdatedEtag_ReturnsBookDto() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"book-1-42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"book-1-0\""))
+                .andReturn();
+
+        BookDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                BookDto.class);
+        assertEquals(CORRECT_ID_ONE, actual.getId());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Get all books with current catalog ETag")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void getAll_CurrentEtag_ReturnsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_MANAGER_CREDENTIALS, roles = {TEST_MANAGER_ROLE})
+    @DisplayName("Get all books with catalog ETag taken before a book was deleted")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void getAll_EtagBeforeDelete_ReturnsBooks() throws Exception {
+        MvcResult before = mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = before.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(delete("/books/1"))
+                .andExpect(status().isNoContent());
+
+        MvcResult result = mockMvc.perform(get("/books")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<BookDto> actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<>(){});
+        assertEquals(List.of(CORRECT_ID_TWO, CORRECT_ID_THREE),
+                actual.stream().map(BookDto::getId).toList());
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
     @Test
     @WithMockUser(username = TEST_MANAGER_CREDENTIALS, roles = {TEST_MANAGER_ROLE})
     @DisplayName("Delete book by correct id by manager")
@@ -529,6 +642,55 @@ public class BookControllerTests {
         EqualsBuilder.reflectionEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(username = TEST_MANAGER_CREDENTIALS, roles = {TEST_MANAGER_ROLE})
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @DisplayName("Update a book with the ETag of its current version")
+    public void update_CurrentIfMatch_ReturnsNextVersion() throws Exception {
+        String etag = mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(put("/books/1")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content(objectMapper.writeValueAsString(createBookRequest()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                BookDto.class);
+        assertEquals(NEXT_VERSION, actual.getVersion());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_MANAGER_CREDENTIALS, roles = {TEST_MANAGER_ROLE})
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @DisplayName("Update a book with the ETag of an outdated version")
+    public void update_OutdatedIfMatch_ReturnsConflict() throws Exception {
+        mockMvc.perform(put("/books/1")
+                        .header(HttpHeaders.IF_MATCH, OUTDATED_BOOK_ETAG)
+                        .content(objectMapper.writeValueAsString(createBookRequest()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(HttpStatus.CONFLICT.name()))
+                .andExpect(jsonPath("$.errors[0]").value(OUTDATED_BOOK_MESSAGE));
+
+        MvcResult result = mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                BookDto.class);
+        assertEquals(INITIAL_VERSION, actual.getVersion());
+        assertEquals(STORED_TITLE, actual.getTitle());
+    }
+
     @Test
     @WithMockUser(username = TEST_USER_CREDENTIALS)
     @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
@@ -725,6 +887,105 @@ public class BookControllerTests {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Export all books as newline delimited JSON")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void export_ThreeBooks_ReturnsOneLinePerBook() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        List<Long> actualIds = new ArrayList<>();
+        for (String line : lines) {
+            BookDto book = objectMapper.readValue(line, BookDto.class);
+            assertEquals(Set.of(CORRECT_ID_ONE), book.getCategoryIds());
+            actualIds.add(book.getId());
+        }
+        assertEquals(List.of(CORRECT_ID_ONE, CORRECT_ID_TWO, CORRECT_ID_THREE), actualIds);
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Export all books gzip compressed when the client accepts gzip")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void export_AcceptsGzip_ReturnsCompressedLines() throws Exception {
+        MvcResult result = exportBooks(GZIP);
+
+        assertEquals(GZIP, result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING,
+                result.getResponse().getHeader(HttpHeaders.VARY));
+        try (InputStream content = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            List<BookDto> actual = readExport(
+                    new String(content.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(List.of(CORRECT_ID_ONE, CORRECT_ID_TWO, CORRECT_ID_THREE),
+                    actual.stream().map(BookDto::getId).toList());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Export doesn't include soft deleted books")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY, SOFT_DELETE_SECOND_BOOK},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void export_SoftDeletedBook_NotExported() throws Exception {
+        MvcResult result = exportBooks(null);
+
+        List<BookDto> actual = readExport(result.getResponse().getContentAsString());
+        assertEquals(List.of(CORRECT_ID_ONE, CORRECT_ID_THREE),
+                actual.stream().map(BookDto::getId).toList());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USER_CREDENTIALS)
+    @DisplayName("Export a book with several categories as one line with all category ids")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY, ADD_SECOND_CATEGORY_TO_FIRST_BOOK},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void export_BookWithSeveralCategories_ReturnsAllCategoryIds() throws Exception {
+        MvcResult result = exportBooks(null);
+
+        List<BookDto> actual = readExport(result.getResponse().getContentAsString());
+        assertEquals(3, actual.size());
+        assertEquals(Set.of(CORRECT_ID_ONE, CORRECT_ID_TWO), actual.get(0).getCategoryIds());
+        assertEquals(Set.of(CORRECT_ID_ONE), actual.get(1).getCategoryIds());
+        assertEquals(Set.of(CORRECT_ID_ONE), actual.get(2).getCategoryIds());
+    }
+
+    private MvcResult exportBooks(String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder exportRequest = get("/books/export");
+        if (acceptEncoding != null) {
+            exportRequest.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult asyncResult = mockMvc.perform(exportRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private List<BookDto> readExport(String content) throws IOException {
+        List<BookDto> books = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            books.add(objectMapper.readValue(line, BookDto.class));
+        }
+        return books;
+    }
+
     private CreateBookRequestDto createBookRequest() {
         CreateBookRequestDto requestDto = new CreateBookRequestDto();
         requestDto.setTitle("The Mysterious Book");
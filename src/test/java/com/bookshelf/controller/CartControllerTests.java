@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.bookshelf.dto.cart.request.CreateCartItemDto;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.jdbc.Sql;
@@ -48,6 +50,10 @@ public class CartControllerTests {
     private static final long VALID_ID = 1L;
     private static final int BASE_QUANTITY = 5;
     private static final int UPDATED_QUANTITY = 10;
+    private static final long NEXT_VERSION = 1L;
+    private static final Long OUTDATED_VERSION = 7L;
+    private static final String OUTDATED_CART_ITEM_MESSAGE =
+            "Cart item 1 has version 0, expected 7";
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -126,6 +132,7 @@ public class CartControllerTests {
                 mapCartItemDtoResponseFromCreateCartItemDto(createCartItemDto());
         expected.setQuantity(request.getQuantity());
         expected.setId(VALID_ID);
+        expected.setVersion(NEXT_VERSION);
 
         MvcResult result = mockMvc.perform(put("/cart/cart-items/1")
                         .content(jsonRequest)
@@ -140,6 +147,33 @@ public class CartControllerTests {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithUserDetails(value = TEST_USER_CREDENTIALS)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS,
+            REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY,
+            ADD_USER_WITH_CART_ITEM},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Update cart item with an outdated version")
+    public void updateCartItem_OutdatedVersion_ReturnsConflict() throws Exception {
+        PutCartItemDto request = putCartItemDto();
+        request.setVersion(OUTDATED_VERSION);
+
+        mockMvc.perform(put("/cart/cart-items/1")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(HttpStatus.CONFLICT.name()))
+                .andExpect(jsonPath("$.errors[0]").value(OUTDATED_CART_ITEM_MESSAGE));
+
+        mockMvc.perform(get("/cart"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems[0].quantity").value(BASE_QUANTITY))
+                .andExpect(jsonPath("$.cartItems[0].version").value(0));
+    }
+
     @Test
     @WithUserDetails(value = TEST_USER_CREDENTIALS)
     @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS,
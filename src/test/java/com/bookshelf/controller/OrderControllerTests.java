@@ -0,0 +1,94 @@
+package com.bookshelf.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.bookshelf.dto.order.request.StatusRequestDto;
+import com.bookshelf.exception.VersionMismatchException;
+import com.bookshelf.model.Order;
+import com.bookshelf.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class OrderControllerTests {
+    protected static MockMvc mockMvc;
+    private static final String TEST_MANAGER_CREDENTIALS = "admin";
+    private static final String TEST_MANAGER_ROLE = "MANAGER";
+    private static final String STATUS_URL = "/orders/1";
+    private static final Long ORDER_ID = 1L;
+    private static final Long OUTDATED_VERSION = 7L;
+    private static final String SHIPPED = "SHIPPED";
+    private static final String CONCURRENT_MODIFICATION_MESSAGE =
+            "Resource was modified concurrently, try again";
+    private static final String OUTDATED_ORDER_MESSAGE = "Order 1 has version 0, expected 7";
+
+    @MockBean
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = TEST_MANAGER_CREDENTIALS, roles = {TEST_MANAGER_ROLE})
+    @DisplayName("Retries exhausted on a concurrently modified order are answered with 409")
+    public void updateStatus_ConcurrentModification_ReturnsConflict() throws Exception {
+        when(orderService.updateStatus(eq(ORDER_ID), any(StatusRequestDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, ORDER_ID));
+
+        mockMvc.perform(patch(STATUS_URL)
+                        .content(objectMapper.writeValueAsString(createRequest(null)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(HttpStatus.CONFLICT.name()))
+                .andExpect(jsonPath("$.errors[0]").value(CONCURRENT_MODIFICATION_MESSAGE));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_MANAGER_CREDENTIALS, roles = {TEST_MANAGER_ROLE})
+    @DisplayName("Update of an outdated order version is answered with 409 and the versions")
+    public void updateStatus_OutdatedVersion_ReturnsConflict() throws Exception {
+        StatusRequestDto request = createRequest(OUTDATED_VERSION);
+        when(orderService.updateStatus(ORDER_ID, request))
+                .thenThrow(new VersionMismatchException(OUTDATED_ORDER_MESSAGE));
+
+        mockMvc.perform(patch(STATUS_URL)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(HttpStatus.CONFLICT.name()))
+                .andExpect(jsonPath("$.errors[0]").value(OUTDATED_ORDER_MESSAGE));
+    }
+
+    private StatusRequestDto createRequest(Long version) {
+        StatusRequestDto request = new StatusRequestDto();
+        request.setStatus(SHIPPED);
+        request.setVersion(version);
+        return request;
+    }
+}
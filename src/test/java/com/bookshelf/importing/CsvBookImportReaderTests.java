@@ -0,0 +1,75 @@
+package com.bookshelf.importing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.exception.InvalidImportException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvBookImportReaderTests {
+    private static final String HEADER =
+            "title,author,isbn,price,description,coverImage,categories\n";
+
+    @Test
+    @DisplayName("Quoted fields keep delimiters, escaped quotes and line breaks")
+    public void next_QuotedFields_ParsedAsOneRow() throws IOException {
+        CsvBookImportReader reader = reader(HEADER
+                + "\"Hello, World\",\"Mr \"\"Quote\"\"\",978-3-16-148410-0,12.50,"
+                + "\"first line\nsecond line\",url,drama; science\r\n");
+
+        BookImportRow row = reader.next();
+
+        assertEquals(1L, row.number());
+        assertEquals("Hello, World", row.book().getTitle());
+        assertEquals("Mr \"Quote\"", row.book().getAuthor());
+        assertEquals(new BigDecimal("12.50"), row.book().getPrice());
+        assertEquals("first line\nsecond line", row.book().getDescription());
+        assertEquals(List.of("drama", "science"), row.categories());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Blank lines are skipped and don't take a row number")
+    public void next_BlankLines_Skipped() throws IOException {
+        CsvBookImportReader reader = reader(HEADER
+                + "\nFirst,Author,978-3-16-148410-0,1\n\nSecond,Author,978-3-16-148410-1,2\n");
+
+        assertEquals(1L, reader.next().number());
+        BookImportRow second = reader.next();
+
+        assertEquals(2L, second.number());
+        assertEquals("Second", second.book().getTitle());
+        assertTrue(second.categories().isEmpty());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Row with a price which is not a number is returned as failed")
+    public void next_PriceNotNumber_FailedRow() throws IOException {
+        CsvBookImportReader reader = reader(HEADER + "Title,Author,978-3-16-148410-0,free\n");
+
+        BookImportRow row = reader.next();
+
+        assertTrue(row.isFailed());
+        assertEquals(1L, row.number());
+    }
+
+    @Test
+    @DisplayName("Header without required columns is rejected")
+    public void constructor_HeaderWithoutIsbn_ExceptionThrown() {
+        assertThrows(InvalidImportException.class,
+                () -> reader("title,author,price\nTitle,Author,1\n"));
+    }
+
+    private CsvBookImportReader reader(String csv) throws IOException {
+        return new CsvBookImportReader(new BufferedReader(new StringReader(csv)));
+    }
+}
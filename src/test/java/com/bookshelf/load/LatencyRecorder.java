@@ -0,0 +1,65 @@
+package com.bookshelf.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class LatencyRecorder {
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean failed) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, failed);
+    }
+
+    public List<EndpointReport> report(long durationNanos) {
+        double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return samples.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey(), seconds))
+                .sorted((first, second) -> first.endpoint().compareTo(second.endpoint()))
+                .collect(Collectors.toList());
+    }
+
+    public record EndpointReport(String endpoint, int requests, int errors,
+                                 double throughput, double p50, double p95, double p99) {
+        @Override
+        public String toString() {
+            return String.format("%-22s requests=%-8d errors=%-6d rps=%-9.1f "
+                    + "p50=%.2fms p95=%.2fms p99=%.2fms",
+                    endpoint, requests, errors, throughput, p50, p95, p99);
+        }
+    }
+
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long latencyNanos, boolean failed) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointReport toReport(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointReport(endpoint, size, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.bookshelf.load;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class LoadTestDataset {
+    private static final int BATCH_SIZE = 5000;
+    private static final long ROLE_USER_ID = 1L;
+    private static final String PASSWORD_HASH =
+            "$2a$10$6tIr4SV.d0Ch9rBoMcpd6uJ7grXTPHHCljq7dLfhFKMZZ8cAd.RKW";
+    private static final String[] TABLES = {"order_items", "orders", "items", "carts",
+        "users_roles", "users", "books_categories", "books", "categories"};
+    private static final String[] ID_GENERATED_TABLES = {"orders", "order_items"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long books;
+    private final long categories;
+    private final long users;
+    private final int cartItemsPerUser;
+    private final int ordersPerUser;
+    private final int itemsPerOrder;
+
+    public LoadTestDataset(JdbcTemplate jdbcTemplate, long books, long categories, long users,
+                           int cartItemsPerUser, int ordersPerUser, int itemsPerOrder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.books = books;
+        this.categories = categories;
+        this.users = users;
+        this.cartItemsPerUser = cartItemsPerUser;
+        this.ordersPerUser = ordersPerUser;
+        this.itemsPerOrder = itemsPerOrder;
+    }
+
+    public static LoadTestDataset fromSystemProperties(JdbcTemplate jdbcTemplate) {
+        return new LoadTestDataset(jdbcTemplate,
+                Long.getLong("load.books", 1_000_000L),
+                Long.getLong("load.categories", 500L),
+                Long.getLong("load.users", 100_000L),
+                Integer.getInteger("load.cart-items-per-user", 3),
+                Integer.getInteger("load.orders-per-user", 2),
+                Integer.getInteger("load.items-per-order", 3));
+    }
+
+    public long getBooks() {
+        return books;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public void seed() {
+        for (String table : TABLES) {
+            jdbcTemplate.execute("DELETE FROM " + table);
+        }
+        insert("INSERT INTO categories (id, name, description, is_deleted) "
+                + "VALUES (?, ?, ?, false)", categories, (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Category " + id);
+                    statement.setString(3, "Synthetic category number " + id);
+                });
+        insert("INSERT INTO books (id, title, author, isbn, price, description, cover_image, "
+                + "is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, false)", books, (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Book " + id + " volume " + id % 7);
+                    statement.setString(3, "Author " + id % 10_000);
+                    statement.setString(4, String.format("978-%010d", id));
+                    statement.setBigDecimal(5, priceOf(id));
+                    statement.setString(6, "Synthetic description of book " + id);
+                    statement.setString(7, "https://example.com/covers/" + id + ".jpg");
+                });
+        insert("INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)", books,
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, id % categories + 1);
+                });
+        insert("INSERT INTO users (id, email, password, first_name, last_name, "
+                + "shipping_address, is_deleted) VALUES (?, ?, ?, ?, ?, ?, false)", users,
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, emailOf(id));
+                    statement.setString(3, PASSWORD_HASH);
+                    statement.setString(4, "First" + id);
+                    statement.setString(5, "Last" + id);
+                    statement.setString(6, "Synthetic street " + id);
+                });
+        insert("INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)", users,
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, ROLE_USER_ID);
+                });
+        insert("INSERT INTO carts (id, user_id) VALUES (?, ?)", users, (statement, id) -> {
+            statement.setLong(1, id);
+            statement.setLong(2, id);
+        });
+        insert("INSERT INTO items (id, cart_id, book_id, quantity) VALUES (?, ?, ?, ?)",
+                users * cartItemsPerUser, (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, (id - 1) / cartItemsPerUser + 1);
+                    statement.setLong(3, bookOf(id));
+                    statement.setInt(4, (int) (id % 3) + 1);
+                });
+        Timestamp orderDate = Timestamp.valueOf(LocalDateTime.now());
+        insert("INSERT INTO orders (id, user_id, status_id, total, date, address, is_deleted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, false)", users * ordersPerUser,
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, (id - 1) / ordersPerUser + 1);
+                    statement.setInt(3, (int) (id % 3));
+                    statement.setBigDecimal(4, priceOf(id).multiply(
+                            BigDecimal.valueOf(itemsPerOrder)));
+                    statement.setTimestamp(5, orderDate);
+                    statement.setString(6, "Synthetic street " + id);
+                });
+        insert("INSERT INTO order_items (id, order_id, book_id, quantity, price) "
+                + "VALUES (?, ?, ?, ?, ?)", users * ordersPerUser * itemsPerOrder,
+                (statement, id) -> {
+                    long bookId = bookOf(id);
+                    statement.setLong(1, id);
+                    statement.setLong(2, (id - 1) / itemsPerOrder + 1);
+                    statement.setLong(3, bookId);
+                    statement.setInt(4, 1);
+                    statement.setBigDecimal(5, priceOf(bookId));
+                });
+        for (String table : ID_GENERATED_TABLES) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) "
+                    + "+ 1 FROM " + table + ") WHERE name = ?", table);
+        }
+    }
+
+    public static String emailOf(long userId) {
+        return "load-user-" + userId + "@mail.com";
+    }
+
+    private long bookOf(long rowId) {
+        return rowId * 7919 % books + 1;
+    }
+
+    private BigDecimal priceOf(long id) {
+        return BigDecimal.valueOf(100 + id % 5000, 2);
+    }
+
+    private void insert(String sql, long count, RowWriter writer) {
+        for (long offset = 0; offset < count; offset += BATCH_SIZE) {
+            long first = offset + 1;
+            int size = (int) Math.min(BATCH_SIZE, count - offset);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    writer.write(statement, first + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, long id) throws SQLException;
+    }
+}
@@ -0,0 +1,253 @@
+package com.bookshelf.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.config.ContextInitializer;
+import com.bookshelf.config.VirtualThreadPinningMonitor;
+import com.bookshelf.model.Role;
+import com.bookshelf.model.User;
+import com.bookshelf.search.BookSearchIndex;
+import com.bookshelf.search.BookSuggestionIndex;
+import com.bookshelf.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mysql.cj.Constants;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ContextConfiguration(initializers = ContextInitializer.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${TEST_DB_URL}",
+        "spring.datasource.username=${TEST_DB_USERNAME}",
+        "spring.datasource.password=${TEST_DB_PASSWORD}",
+        "spring.datasource.hikari.maximum-pool-size=50",
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=true",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "server.servlet.context-path=/api",
+        "cache.books.maximum-size=10000",
+        "spring.threads.virtual.enabled=${load.virtual-threads:false}"
+})
+public class LoadTests {
+    private static final String REPORT_FILE = "target/load-test-report-%s.json";
+    private static final String VIRTUAL = "virtual";
+    private static final String PLATFORM = "platform";
+    private static final String JSON = "application/json";
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE = 50;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @Test
+    @DisplayName("Drive mixed read/write traffic against a seeded catalog and report latency")
+    void mixedScenario_SeededCatalog_ReportsLatencyPerEndpoint() throws Exception {
+        LoadTestDataset dataset = LoadTestDataset.fromSystemProperties(jdbcTemplate);
+        dataset.seed();
+        bookSearchIndex.rebuild();
+        bookSuggestionIndex.rebuild();
+
+        int threads = Integer.getInteger("load.threads", 32);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.getLong("load.warmup-seconds", 10L));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong("load.duration-seconds", 60L));
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long deadline = measureFrom + durationNanos;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> runWorker(dataset, measureFrom, deadline)));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        List<LatencyRecorder.EndpointReport> reports = recorder.report(durationNanos);
+        reports.forEach(System.out::println);
+        String mode = pinningMonitor.getIfAvailable() == null ? PLATFORM : VIRTUAL;
+        writeReport(dataset, mode, threads, durationNanos, reports);
+        printComparison(mode, reports);
+
+        int requests = reports.stream().mapToInt(LatencyRecorder.EndpointReport::requests).sum();
+        int errors = reports.stream().mapToInt(LatencyRecorder.EndpointReport::errors).sum();
+        assertTrue(requests > 0);
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        assertTrue(errors <= requests * maxErrorRate,
+                "Error rate exceeded: " + errors + " of " + requests);
+    }
+
+    private void runWorker(LoadTestDataset dataset, long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.nanoTime();
+        while (now < deadline) {
+            long userId = random.nextLong(dataset.getUsers()) + 1;
+            long bookId = random.nextLong(dataset.getBooks()) + 1;
+            String token = tokens.computeIfAbsent(userId,
+                    id -> jwtUtil.generateToken(userOf(id)));
+            int scenario = random.nextInt(100);
+            if (scenario < 35) {
+                send("GET /books/{id}", get("/books/" + bookId, token), now >= measureFrom);
+            } else if (scenario < 55) {
+                send("GET /books", get("/books?page=" + random.nextInt(MAX_PAGE)
+                        + "&size=" + PAGE_SIZE, token), now >= measureFrom);
+            } else if (scenario < 70) {
+                send("GET /books/search", get("/books/search?q=book%20" + bookId
+                        + "&size=" + PAGE_SIZE, token), now >= measureFrom);
+            } else if (scenario < 80) {
+                send("GET /cart", get("/cart", token), now >= measureFrom);
+            } else if (scenario < 90) {
+                send("POST /cart", post("/cart", token,
+                        "{\"bookId\":" + bookId + ",\"quantity\":1}"), now >= measureFrom);
+            } else if (scenario < 97) {
+                send("GET /orders", get("/orders", token), now >= measureFrom);
+            } else {
+                send("POST /orders", post("/orders", token,
+                        "{\"shippingAddress\":\"Synthetic street " + userId + "\"}"),
+                        now >= measureFrom);
+            }
+            now = System.nanoTime();
+        }
+    }
+
+    private void send(String endpoint, HttpRequest request, boolean measured) {
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            failed = client.send(request, HttpResponse.BodyHandlers.discarding())
+                    .statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            recorder.record(endpoint, System.nanoTime() - start, failed);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", JSON)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private User userOf(long userId) {
+        Role role = new Role();
+        role.setId(1L);
+        role.setName(Role.RoleName.ROLE_USER);
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(LoadTestDataset.emailOf(userId));
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    private void writeReport(LoadTestDataset dataset, String mode, int threads,
+                             long durationNanos, List<LatencyRecorder.EndpointReport> reports)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", mode);
+        report.put("books", dataset.getBooks());
+        report.put("users", dataset.getUsers());
+        report.put("threads", threads);
+        report.put("driver", Constants.CJ_VERSION);
+        report.put("durationSeconds", TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        report.put("pinnedEvents", pinningMonitor.getIfAvailable() == null
+                ? 0 : pinningMonitor.getIfAvailable().getPinnedEvents());
+        report.put("endpoints", reports);
+        Path path = Path.of(String.format(REPORT_FILE, mode));
+        Files.createDirectories(path.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private void printComparison(String mode, List<LatencyRecorder.EndpointReport> reports)
+            throws IOException {
+        String otherMode = VIRTUAL.equals(mode) ? PLATFORM : VIRTUAL;
+        Path otherPath = Path.of(String.format(REPORT_FILE, otherMode));
+        if (!Files.exists(otherPath)) {
+            return;
+        }
+        Map<String, JsonNode> others = new HashMap<>();
+        objectMapper.readTree(otherPath.toFile()).get("endpoints")
+                .forEach(endpoint -> others.put(endpoint.get("endpoint").asText(), endpoint));
+        System.out.printf("%-22s %12s %12s %12s %12s%n", "endpoint",
+                otherMode + " rps", mode + " rps", otherMode + " p99", mode + " p99");
+        for (LatencyRecorder.EndpointReport report : reports) {
+            JsonNode other = others.get(report.endpoint());
+            if (other != null) {
+                System.out.printf("%-22s %12.1f %12.1f %10.2fms %10.2fms%n", report.endpoint(),
+                        other.get("throughput").asDouble(), report.throughput(),
+                        other.get("p99").asDouble(), report.p99());
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.bookshelf.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.config.ContextInitializer;
+import com.bookshelf.model.Role;
+import com.bookshelf.model.User;
+import com.bookshelf.security.JwtUtil;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@SpringBootTest
+@ContextConfiguration(initializers = ContextInitializer.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${TEST_DB_URL}",
+        "spring.datasource.username=${TEST_DB_USERNAME}",
+        "spring.datasource.password=${TEST_DB_PASSWORD}",
+        "reactive.server.enabled=true",
+        "reactive.server.port=0",
+        "reactive.r2dbc.url=${TEST_R2DBC_URL}",
+        "reactive.r2dbc.username=${TEST_DB_USERNAME}",
+        "reactive.r2dbc.password=${TEST_DB_PASSWORD}",
+        "reactive.r2dbc.pool.max-size=1",
+        "reactive.r2dbc.pool.max-acquire-time=500"
+})
+public class ReactiveCatalogServerTests {
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String ADD_THREE_BOOKS_WITH_CATEGORY =
+            "classpath:database/books/add-three-books-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final long ID_ONE = 1L;
+    private static final long NOT_EXISTING_ID = 100L;
+    private static final String LOCK_BOOKS = "LOCK TABLES books WRITE";
+    private static final String UNLOCK_TABLES = "UNLOCK TABLES";
+    private static final String COUNT_WAITING_FOR_LOCK = "SELECT COUNT(*) "
+            + "FROM information_schema.processlist "
+            + "WHERE state = 'Waiting for table metadata lock'";
+    private static final long WAIT_TIMEOUT_MILLIS = 5000;
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    @Autowired
+    private ReactiveCatalogServer reactiveCatalogServer;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient webTestClient;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveCatalogServer.getPort())
+                .build();
+        Role role = new Role();
+        role.setId(ID_ONE);
+        role.setName(Role.RoleName.ROLE_USER);
+        User user = new User();
+        user.setId(ID_ONE);
+        user.setEmail("test@mail.com");
+        user.setRoles(Set.of(role));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("Get book by valid id from the reactive server")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getBookById_ValidId_ReturnsBookWithCategoryIds() {
+        webTestClient.get()
+                .uri("/books/{id}", ID_ONE)
+                .header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(ID_ONE)
+                .jsonPath("$.title").isEqualTo("The Book")
+                .jsonPath("$.price").isEqualTo(19.95)
+                .jsonPath("$.categoryIds[0]").isEqualTo(ID_ONE);
+    }
+
+    @Test
+    @DisplayName("Get book by not existing id from the reactive server")
+    public void getBookById_NotExistingId_ReturnsNotFound() {
+        webTestClient.get()
+                .uri("/books/{id}", NOT_EXISTING_ID)
+                .header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors[0]").isEqualTo("Can't find book by id: " + NOT_EXISTING_ID);
+    }
+
+    @Test
+    @DisplayName("Get page of books from the reactive server")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getAll_SecondPageOfTwo_ReturnsLastBook() {
+        webTestClient.get()
+                .uri("/books?page=1&size=2")
+                .header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("The Third Book");
+    }
+
+    @Test
+    @DisplayName("Get books by category id from the reactive server")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getBooksByCategoryId_ValidId_ReturnsBooksWithoutCategoryIds() {
+        webTestClient.get()
+                .uri("/categories/{id}/books", ID_ONE)
+                .header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].title").isEqualTo("The First Book")
+                .jsonPath("$[0].categoryIds").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Reactive server rejects requests without a token")
+    public void getAll_WithoutToken_ReturnsUnauthorized() {
+        webTestClient.get()
+                .uri("/books")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Reactive server answers 503 when no pooled connection is free in time")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_THREE_BOOKS_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getAll_PoolExhausted_ReturnsServiceUnavailable() throws Exception {
+        CompletableFuture<ResponseEntity<Void>> blocked;
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(LOCK_BOOKS);
+            try {
+                blocked = WebClient.create("http://localhost:" + reactiveCatalogServer.getPort())
+                        .get()
+                        .uri("/books")
+                        .header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .toFuture();
+                awaitQueryWaitingForLock();
+
+                webTestClient.get()
+                        .uri("/categories/{id}/books", ID_ONE)
+                        .header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token)
+                        .exchange()
+                        .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                        .expectBody()
+                        .jsonPath("$.errors[0]").isEqualTo("Catalog is busy, try again later");
+            } finally {
+                statement.execute(UNLOCK_TABLES);
+            }
+        }
+
+        assertEquals(HttpStatus.OK,
+                blocked.get(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).getStatusCode());
+    }
+
+    private void awaitQueryWaitingForLock() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        while (jdbcTemplate.queryForObject(COUNT_WAITING_FOR_LOCK, Integer.class) == 0) {
+            assertTrue(System.currentTimeMillis() < deadline,
+                    "Reactive query didn't start waiting for the table lock");
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+}
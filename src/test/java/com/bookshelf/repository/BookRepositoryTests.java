@@ -12,6 +12,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -21,6 +22,8 @@ public class BookRepositoryTests {
             "classpath:database/books/remove-all-books-and-categories.sql";
     private static final String ADD_ONE_BOOK_WITH_CATEGORY =
             "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String ADD_TEN_BOOKS_WITH_DIFFERENT_CATEGORIES =
+            "classpath:database/books/add-ten-books-with-different-categories.sql";
     private static final Pageable STANDART_PAGEABLE = PageRequest.of(0, 20);
     private static final Long CORRECT_ID_ONE = 1L;
     private static final Long CORRECT_ID_TWO = 2L;
@@ -94,7 +97,7 @@ public class BookRepositoryTests {
     @Test
     @DisplayName("Find few books within different books by category 1")
     @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
-            "classpath:database/books/add-ten-books-with-different-categories.sql"},
+            ADD_TEN_BOOKS_WITH_DIFFERENT_CATEGORIES},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -109,4 +112,24 @@ public class BookRepositoryTests {
         assertEquals("The Sixth Book", actual.get(2).getTitle());
         assertEquals("The Seventh Book", actual.get(3).getTitle());
     }
+
+    @Test
+    @DisplayName("Find sorted page of books with categories")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_TEN_BOOKS_WITH_DIFFERENT_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAllWithCategories_SecondPageSortedByPrice_ReturnsBooksInOrder() {
+        Pageable pageable = PageRequest.of(1, 3, Sort.by("price").descending());
+        int expected = 3;
+
+        List<Book> actual = bookRepository.findAllWithCategories(pageable);
+
+        assertEquals(expected, actual.size());
+        assertEquals("The Sixth Book", actual.get(0).getTitle());
+        assertEquals("The Forth Book", actual.get(1).getTitle());
+        assertEquals("The Ninth Book", actual.get(2).getTitle());
+        assertEquals(CORRECT_ID_TWO, actual.get(0).getCategories().iterator().next().getId());
+    }
 }
@@ -3,8 +3,12 @@ package com.bookshelf.repository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.bookshelf.dto.cart.response.CartItemDto;
 import com.bookshelf.model.ShoppingCart;
 import com.bookshelf.repository.cart.CartRepository;
+import com.bookshelf.repository.cart.item.CartItemRepository;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,43 +24,72 @@ public class CartRepositoryTests {
             "classpath:database/carts/remove-all-users-carts-items.sql";
     private static final String ADD_USER_WITH_EMPTY_CART =
             "classpath:database/carts/add-one-user-with-empty-cart.sql";
-    private static final long ID_ONE = 1L;
+    private static final String ADD_USER_WITH_CART_ITEM =
+            "classpath:database/carts/add-one-user-with-cart-with-item.sql";
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final Long ID_ONE = 1L;
     private static final long INCORRECT_ID = 100L;
+    private static final String BOOK_TITLE = "The Book";
+    private static final BigDecimal BOOK_PRICE = new BigDecimal("19.95");
+    private static final int QUANTITY = 5;
 
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
     @Test
-    @DisplayName("Find shopping cart with correct user id")
-    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS,
-            ADD_USER_WITH_EMPTY_CART},
+    @DisplayName("Find items of the cart with their books")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_CART_ITEM},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
-    @Sql(scripts = REMOVE_ALL_USERS_AND_CART_ITEMS,
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
-    public void getShoppingCartByUser_Id_CorrectUserId_ReturnsCart() {
-        ShoppingCart expectedCart = new ShoppingCart();
-        expectedCart.setId(ID_ONE);
-        Optional<ShoppingCart> expected = Optional.of(expectedCart);
-
-        Optional<ShoppingCart> actual = cartRepository.getShoppingCartByUser_Id(ID_ONE);
+    public void findCartItemDtos_CartWithItem_ReturnsItemWithBook() {
+        List<CartItemDto> actual = cartItemRepository.findCartItemDtos(ID_ONE);
 
-        assertTrue(actual.isPresent());
-        assertEquals(expected, actual);
+        assertEquals(1, actual.size());
+        CartItemDto item = actual.get(0);
+        assertEquals(ID_ONE, item.getId());
+        assertEquals(ID_ONE, item.getBookId());
+        assertEquals(BOOK_TITLE, item.getBookTitle());
+        assertEquals(0, BOOK_PRICE.compareTo(item.getBookPrice()));
+        assertEquals(QUANTITY, item.getQuantity());
     }
 
     @Test
-    @DisplayName("Try to find shopping cart with incorrect user id")
+    @DisplayName("Find no items of an empty or missing cart")
     @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS,
             ADD_USER_WITH_EMPTY_CART},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = REMOVE_ALL_USERS_AND_CART_ITEMS,
             executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
-    public void getShoppingCartByUser_Id_IncorrectUserId_ReturnsEmpty() {
-        Optional<ShoppingCart> expected = Optional.empty();
+    public void findCartItemDtos_EmptyOrMissingCart_ReturnsEmptyList() {
+        assertTrue(cartItemRepository.findCartItemDtos(ID_ONE).isEmpty());
+        assertTrue(cartItemRepository.findCartItemDtos(INCORRECT_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Clear loaded cart with bulk delete and reload it without items")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_CART_ITEM},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void deleteAllByCartId_LoadedCart_ReloadedCartIsEmpty() {
+        ShoppingCart loaded = cartRepository.findById(ID_ONE).orElseThrow();
+        assertEquals(1, loaded.getCartItems().size());
 
-        Optional<ShoppingCart> actual = cartRepository.getShoppingCartByUser_Id(INCORRECT_ID);
+        int deleted = cartItemRepository.deleteAllByCartId(ID_ONE);
 
-        assertTrue(actual.isEmpty());
-        assertEquals(expected, actual);
+        Optional<ShoppingCart> actual = cartRepository.findById(ID_ONE);
+        assertEquals(1, deleted);
+        assertTrue(actual.isPresent());
+        assertTrue(actual.get().getCartItems().isEmpty());
+        assertTrue(cartItemRepository.findCartItemDtos(ID_ONE).isEmpty());
     }
 }
@@ -0,0 +1,146 @@
+package com.bookshelf.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.dto.order.response.OrderSummaryDto;
+import com.bookshelf.model.Book;
+import com.bookshelf.model.Order;
+import com.bookshelf.model.OrderItem;
+import com.bookshelf.repository.order.OrderItemRepository;
+import com.bookshelf.repository.order.OrderRepository;
+import com.bookshelf.repository.user.UserRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:tc:mysql:8:///product_test_db"
+        + "?queryInterceptors=com.bookshelf.repository.StatementCollector")
+public class OrderRepositoryTests {
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String ADD_USER_WITH_THREE_ORDERS =
+            "classpath:database/orders/add-one-user-with-three-orders.sql";
+    private static final String REMOVE_ALL_USERS_AND_ORDERS =
+            "classpath:database/orders/remove-all-users-orders.sql";
+    private static final String ADD_ONE_USER = "classpath:database/users/add-one-user.sql";
+    private static final String NEXT_ID = "SELECT next_val FROM id_generators WHERE name = ?";
+    private static final String ORDER_ITEMS_GENERATOR = "order_items";
+    private static final String INSERT_ORDER_ITEMS = "insert into order_items";
+    private static final int THREE_ITEMS = 3;
+    private static final int ONE_STATEMENT = 1;
+    private static final LocalDateTime SECOND_DAY = LocalDateTime.of(2023, 9, 2, 10, 0);
+    private static final Long ID_ONE = 1L;
+    private static final Long ID_TWO = 2L;
+    private static final Long ID_THREE = 3L;
+    private static final Long ONE_ITEM = 1L;
+    private static final Long TWO_ITEMS = 2L;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("First page of summaries is ordered by newest date, then by highest id")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_ORDERS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_THREE_ORDERS},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_ORDERS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findSummaries_UserWithOrders_ReturnsNewestFirstWithItemCounts() {
+        List<OrderSummaryDto> actual = orderRepository.findSummaries(ID_ONE, PageRequest.of(0, 2));
+
+        assertEquals(2, actual.size());
+        assertEquals(ID_THREE, actual.get(0).id());
+        assertEquals(TWO_ITEMS, actual.get(0).itemCount());
+        assertEquals(ID_TWO, actual.get(1).id());
+        assertEquals(ONE_ITEM, actual.get(1).itemCount());
+    }
+
+    @Test
+    @DisplayName("Summaries after a cursor skip rows on the same date with a higher id")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_ORDERS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_THREE_ORDERS},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_ORDERS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findSummariesAfter_CursorOnSharedDate_ReturnsRemainingOrders() {
+        List<OrderSummaryDto> actual = orderRepository.findSummariesAfter(
+                ID_ONE, SECOND_DAY, ID_TWO, PageRequest.of(0, 2));
+
+        assertEquals(1, actual.size());
+        assertEquals(ID_ONE, actual.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Order items get ids from a reserved block and are inserted in one batch")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_ORDERS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_ONE_USER},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_ORDERS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void saveAll_OrderWithThreeItems_PooledIdsAndOneBatchedInsert() {
+        Order order = orderRepository.saveAndFlush(createOrder());
+
+        StatementCollector.start();
+        List<OrderItem> actual = orderItemRepository.saveAllAndFlush(createOrderItems(order));
+        List<String> inserts = StatementCollector.startingWith(
+                StatementCollector.stop(), INSERT_ORDER_ITEMS);
+        Long nextId = jdbcTemplate.queryForObject(NEXT_ID, Long.class, ORDER_ITEMS_GENERATOR);
+        Set<Long> ids = actual.stream()
+                .map(OrderItem::getId)
+                .collect(Collectors.toSet());
+
+        assertEquals(ONE_STATEMENT, inserts.size(), String.join("\n", inserts));
+        assertEquals(THREE_ITEMS, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id < nextId),
+                "Ids " + ids + " aren't reserved below next_val " + nextId);
+    }
+
+    private Order createOrder() {
+        Order order = new Order();
+        order.setUser(userRepository.getReferenceById(ID_ONE));
+        order.setStatus(Order.Status.PENDING);
+        order.setTotal(BigDecimal.TEN);
+        order.setOrderDate(SECOND_DAY);
+        order.setShippingAddress("Ukraine");
+        return order;
+    }
+
+    private List<OrderItem> createOrderItems(Order order) {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 1; i <= THREE_ITEMS; i++) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setBook(new Book(ID_ONE));
+            orderItem.setQuantity(i);
+            orderItem.setPrice(BigDecimal.TEN);
+            orderItems.add(orderItem);
+        }
+        return orderItems;
+    }
+}
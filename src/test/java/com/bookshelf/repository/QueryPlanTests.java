@@ -0,0 +1,236 @@
+package com.bookshelf.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.Role;
+import com.bookshelf.repository.book.BookKeysetCursor;
+import com.bookshelf.repository.book.BookRepository;
+import com.bookshelf.repository.cart.CartRepository;
+import com.bookshelf.repository.cart.item.CartItemRepository;
+import com.bookshelf.repository.category.CategoryRepository;
+import com.bookshelf.repository.order.OrderItemRepository;
+import com.bookshelf.repository.order.OrderRepository;
+import com.bookshelf.repository.role.RoleRepository;
+import com.bookshelf.repository.user.UserRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:tc:mysql:8:///product_test_db"
+        + "?queryInterceptors=com.bookshelf.repository.StatementCollector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class QueryPlanTests {
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String ADD_USER_WITH_CART_ITEM =
+            "classpath:database/carts/add-one-user-with-cart-with-item.sql";
+    private static final String ADD_SYNTHETIC_ROWS =
+            "classpath:database/plans/add-synthetic-rows.sql";
+    private static final String REMOVE_ALL_USERS_ORDERS_AND_CARTS =
+            "classpath:database/orders/remove-all-users-orders-carts.sql";
+    private static final String SELECT = "select";
+    private static final String FULL_TABLE_SCAN = "ALL";
+    private static final String PRIMARY_SELECT = "PRIMARY";
+    private static final String ORDERS_HISTORY_INDEX = "orders_user_id_is_deleted_date_id_idx";
+    private static final String FILESORT = "filesort";
+    private static final String TEMPORARY = "temporary";
+    private static final Pageable STANDART_PAGEABLE = PageRequest.of(0, 20);
+    private static final Long ID_ONE = 1L;
+    private static final String TITLE = "The Book";
+    private static final String AUTHOR = "Modest Author";
+    private static final String EMAIL = "test@mail.com";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Every repository query is served by an index instead of a full table scan")
+    @Sql(scripts = {REMOVE_ALL_USERS_ORDERS_AND_CARTS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_CART_ITEM, ADD_SYNTHETIC_ROWS},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_ORDERS_AND_CARTS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void repositoryQueries_Explained_UseIndexes() {
+        List<String> allowedFullScans = collectSelects(this::runAllowedFullScanQueries);
+        List<String> statements = new ArrayList<>(collectSelects(() -> {
+            runBookQueries();
+            runCategoryQueries();
+            runCartQueries();
+            runOrderQueries();
+            runUserQueries();
+        }));
+        statements.removeAll(allowedFullScans);
+
+        List<String> fullScans = new ArrayList<>();
+        for (String statement : statements) {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + statement)) {
+                if (isFullTableScan(row)) {
+                    fullScans.add(row.get("table") + ": " + statement);
+                }
+            }
+        }
+
+        assertFalse(statements.isEmpty());
+        assertTrue(fullScans.isEmpty(), "Queries fall back to a full table scan:\n"
+                + String.join("\n", fullScans));
+    }
+
+    @Test
+    @DisplayName("Order history seeks the history index in order without grouping or sorting")
+    @Sql(scripts = {REMOVE_ALL_USERS_ORDERS_AND_CARTS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_CART_ITEM, ADD_SYNTHETIC_ROWS},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_ORDERS_AND_CARTS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void orderSummaries_Explained_SeekHistoryIndex() {
+        List<String> statements = collectSelects(() -> {
+            orderRepository.findSummaries(ID_ONE, STANDART_PAGEABLE);
+            orderRepository.findSummariesAfter(
+                    ID_ONE, LocalDateTime.now(), ID_ONE, STANDART_PAGEABLE);
+        });
+
+        assertFalse(statements.isEmpty());
+        for (String statement : statements) {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + statement)) {
+                String extra = String.valueOf(row.get("Extra"));
+                if (PRIMARY_SELECT.equals(row.get("select_type"))) {
+                    assertEquals(ORDERS_HISTORY_INDEX, row.get("key"), statement);
+                }
+                assertFalse(extra.contains(FILESORT) || extra.contains(TEMPORARY),
+                        row.get("table") + " is sorted or grouped: " + statement);
+            }
+        }
+    }
+
+    private void runBookQueries() {
+        bookRepository.findById(ID_ONE);
+        bookRepository.existsById(ID_ONE);
+        bookRepository.findAllById(List.of(ID_ONE));
+        bookRepository.findByIdWithCategories(ID_ONE);
+        bookRepository.findVersionById(ID_ONE);
+        bookRepository.findAllByIdGreaterThanOrderById(ID_ONE, STANDART_PAGEABLE);
+        bookRepository.findAllWithCategories(STANDART_PAGEABLE);
+        bookRepository.findAllWithCategoriesByIds(List.of(ID_ONE));
+        bookRepository.findAllByCategoryId(ID_ONE, STANDART_PAGEABLE);
+        bookRepository.findIds(hasTitle(), PageRequest.of(0, 20, Sort.by(BookKeysetCursor.TITLE)));
+        bookRepository.findIds(hasAuthor(), STANDART_PAGEABLE);
+        bookRepository.findIds(priceUpTo(), STANDART_PAGEABLE);
+        for (String property : List.of(BookKeysetCursor.ID, BookKeysetCursor.TITLE,
+                BookKeysetCursor.AUTHOR, BookKeysetCursor.PRICE)) {
+            BookKeysetCursor first = BookKeysetCursor.first(Sort.by(property));
+            bookRepository.findIdsAfter(null, first, 20);
+            bookRepository.findIdsAfter(null,
+                    first.next(bookRepository.findById(ID_ONE).orElseThrow()), 20);
+        }
+    }
+
+    private void runCategoryQueries() {
+        categoryRepository.findById(ID_ONE);
+        categoryRepository.existsById(ID_ONE);
+        categoryRepository.findAllById(List.of(ID_ONE));
+        categoryRepository.findVersionById(ID_ONE);
+    }
+
+    private void runCartQueries() {
+        cartRepository.findById(ID_ONE);
+        cartRepository.existsById(ID_ONE);
+        cartItemRepository.findById(ID_ONE);
+        cartItemRepository.findByIdAndShoppingCart_Id(ID_ONE, ID_ONE);
+        cartItemRepository.findByShoppingCart_IdAndBook_Id(ID_ONE, ID_ONE);
+        cartItemRepository.findCartItemDtos(ID_ONE);
+        cartItemRepository.findAllWithBooksByCartId(ID_ONE);
+    }
+
+    private void runOrderQueries() {
+        orderRepository.findById(ID_ONE);
+        orderRepository.findSummaries(ID_ONE, STANDART_PAGEABLE);
+        orderRepository.findSummariesAfter(ID_ONE, LocalDateTime.now(), ID_ONE, STANDART_PAGEABLE);
+        orderItemRepository.findAllByOrderId(ID_ONE);
+        orderItemRepository.findByIdAndOrder_Id(ID_ONE, ID_ONE);
+        orderItemRepository.findBookPopularity();
+    }
+
+    private void runUserQueries() {
+        userRepository.findById(ID_ONE);
+        userRepository.existsById(ID_ONE);
+        userRepository.findByEmail(EMAIL);
+    }
+
+    private void runAllowedFullScanQueries() {
+        roleRepository.getUserRoleByName(Role.RoleName.ROLE_USER);
+        categoryRepository.findAll(STANDART_PAGEABLE);
+    }
+
+    private List<String> collectSelects(Runnable queries) {
+        StatementCollector.start();
+        queries.run();
+        return StatementCollector.startingWith(StatementCollector.stop(), SELECT);
+    }
+
+    private boolean isFullTableScan(Map<String, Object> row) {
+        Object table = row.get("table");
+        return FULL_TABLE_SCAN.equals(row.get("type"))
+                && table != null
+                && !table.toString().startsWith("<");
+    }
+
+    private Specification<Book> hasTitle() {
+        return (root, query, criteriaBuilder) -> root.get(BookKeysetCursor.TITLE).in(TITLE);
+    }
+
+    private Specification<Book> hasAuthor() {
+        return (root, query, criteriaBuilder) -> root.get(BookKeysetCursor.AUTHOR).in(AUTHOR);
+    }
+
+    private Specification<Book> priceUpTo() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(
+                root.<BigDecimal>get(BookKeysetCursor.PRICE), BigDecimal.TEN);
+    }
+}
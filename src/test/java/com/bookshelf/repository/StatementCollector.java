@@ -0,0 +1,77 @@
+package com.bookshelf.repository;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+public class StatementCollector implements QueryInterceptor {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final Set<String> BACKGROUND_TABLES = Set.of("cache_invalidations",
+            "id_generators");
+    private static final String SELECT = "select";
+    private static final String FROM = " from ";
+    private static volatile boolean collecting;
+
+    public static void start() {
+        STATEMENTS.clear();
+        collecting = true;
+    }
+
+    public static List<String> stop() {
+        collecting = false;
+        return new ArrayList<>(STATEMENTS);
+    }
+
+    public static List<String> startingWith(List<String> statements, String keyword) {
+        String prefix = keyword.toLowerCase(Locale.ROOT);
+        return statements.stream()
+                .filter(statement -> statement.toLowerCase(Locale.ROOT).startsWith(prefix))
+                .toList();
+    }
+
+    public static List<String> tableSelects(List<String> statements) {
+        return startingWith(statements, SELECT).stream()
+                .map(statement -> statement.toLowerCase(Locale.ROOT))
+                .filter(statement -> statement.contains(FROM)
+                        && BACKGROUND_TABLES.stream().noneMatch(statement::contains))
+                .toList();
+    }
+
+    @Override
+    public QueryInterceptor init(MysqlConnection connection, Properties properties, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        if (collecting) {
+            STATEMENTS.add(sql.get().trim());
+        }
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery,
+                                               T originalResultSet, ServerSession serverSession) {
+        return null;
+    }
+}
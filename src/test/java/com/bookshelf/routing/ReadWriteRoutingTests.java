@@ -0,0 +1,107 @@
+package com.bookshelf.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.bookshelf.config.ReplicatedMySqlContainers;
+import com.bookshelf.config.ReplicationContextInitializer;
+import com.bookshelf.dto.category.response.CategoryDto;
+import com.bookshelf.service.CategoryService;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ContextConfiguration(initializers = ReplicationContextInitializer.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${TEST_PRIMARY_DB_URL}",
+        "spring.datasource.username=${TEST_REPLICATION_DB_USERNAME}",
+        "spring.datasource.password=${TEST_REPLICATION_DB_PASSWORD}",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=${TEST_REPLICA_DB_URL}",
+        "datasource.replica.username=${TEST_REPLICATION_DB_USERNAME}",
+        "datasource.replica.password=${TEST_REPLICATION_DB_PASSWORD}"
+})
+public class ReadWriteRoutingTests {
+    private static final String ADD_ONE_CATEGORY = "classpath:database/books/add-one-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String SERVER_ID = "SELECT @@server_id";
+    private static final Pageable STANDART_PAGEABLE = PageRequest.of(0, 20);
+    private static final long REPLICATION_TIMEOUT = 10000;
+    private static final long POLL_INTERVAL = 100;
+    private static final int ONE_CATEGORY = 1;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only transaction is served by the replica")
+    public void readOnlyTransaction_NotPinned_RoutedToReplica() {
+        assertEquals(ReplicatedMySqlContainers.getReplicaServerId(), serverId(true));
+    }
+
+    @Test
+    @DisplayName("Read-write transaction is served by the primary")
+    public void readWriteTransaction_NotPinned_RoutedToPrimary() {
+        assertEquals(ReplicatedMySqlContainers.getPrimaryServerId(), serverId(false));
+    }
+
+    @Test
+    @DisplayName("Read-only transaction after a recent write is served by the primary")
+    public void readOnlyTransaction_Pinned_RoutedToPrimary() {
+        ReadYourWrites.pin();
+
+        assertEquals(ReplicatedMySqlContainers.getPrimaryServerId(), serverId(true));
+    }
+
+    @Test
+    @DisplayName("Category written to the primary reaches catalog reads through replication")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_ONE_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAll_CategoryWrittenToPrimary_ReadFromReplica() throws InterruptedException {
+        ReadYourWrites.pin();
+        assertEquals(ONE_CATEGORY, categoryService.findAll(STANDART_PAGEABLE).size());
+        ReadYourWrites.clear();
+
+        long deadline = System.currentTimeMillis() + REPLICATION_TIMEOUT;
+        List<CategoryDto> actual = categoryService.findAll(STANDART_PAGEABLE);
+        while (actual.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_INTERVAL);
+            actual = categoryService.findAll(STANDART_PAGEABLE);
+        }
+
+        assertFalse(actual.isEmpty(), "Category wasn't replicated in time");
+    }
+
+    private int serverId(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(SERVER_ID, Integer.class));
+    }
+}
@@ -0,0 +1,160 @@
+package com.bookshelf.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.servlet.http.Cookie;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+public class ReadYourWritesFilterTests {
+    protected static MockMvc mockMvc;
+    private static final long PIN_DURATION = 5000;
+    private static final long HOUR = 3600000;
+    private static final long WRITE_TIME = 20;
+    private static final String PINNED_URL = "/pinned";
+    private static final String WRITES_URL = "/writes";
+    private static final String PINNED = "true";
+    private static final String NOT_PINNED = "false";
+    private static final String GARBAGE_TOKEN = "not-a-time";
+
+    @BeforeAll
+    static void beforeAll() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new PinController())
+                .addFilters(new ReadYourWritesFilter(PIN_DURATION))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Write with a body is stamped once the handler has finished")
+    public void post_WriteWithBody_StampedAfterWrite() throws Exception {
+        MvcResult result = mockMvc.perform(post(WRITES_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().string(PINNED))
+                .andReturn();
+
+        long lastWrite = Long.parseLong(
+                result.getResponse().getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER));
+        assertTrue(lastWrite >= PinController.WRITE_FINISHED.get());
+        Cookie cookie = result.getResponse().getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(lastWrite), cookie.getValue());
+    }
+
+    @Test
+    @DisplayName("Write without a body is stamped after the handler")
+    public void delete_WriteWithoutBody_StampedAfterWrite() throws Exception {
+        MvcResult result = mockMvc.perform(delete(WRITES_URL))
+                .andExpect(status().isNoContent())
+                .andReturn();
+
+        long lastWrite = Long.parseLong(
+                result.getResponse().getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER));
+        assertTrue(lastWrite >= PinController.WRITE_FINISHED.get());
+    }
+
+    @Test
+    @DisplayName("Read carrying the stamp of a fresh write is pinned to the primary")
+    public void get_FreshWriteHeader_Pinned() throws Exception {
+        String lastWrite = mockMvc.perform(post(WRITES_URL)).andReturn()
+                .getResponse().getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER);
+
+        mockMvc.perform(get(PINNED_URL)
+                        .header(ReadYourWritesFilter.LAST_WRITE_HEADER, lastWrite))
+                .andExpect(content().string(PINNED));
+    }
+
+    @Test
+    @DisplayName("Read carrying the cookie of a fresh write is pinned to the primary")
+    public void get_FreshWriteCookie_Pinned() throws Exception {
+        Cookie cookie = mockMvc.perform(post(WRITES_URL)).andReturn()
+                .getResponse().getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+
+        mockMvc.perform(get(PINNED_URL).cookie(cookie))
+                .andExpect(content().string(PINNED));
+    }
+
+    @Test
+    @DisplayName("Read without a stamp isn't pinned")
+    public void get_NoStamp_NotPinned() throws Exception {
+        mockMvc.perform(get(PINNED_URL))
+                .andExpect(content().string(NOT_PINNED));
+    }
+
+    @Test
+    @DisplayName("Read carrying the stamp of an old write isn't pinned")
+    public void get_ExpiredStamp_NotPinned() throws Exception {
+        String expired = Long.toString(System.currentTimeMillis() - PIN_DURATION - 1);
+
+        mockMvc.perform(get(PINNED_URL).header(ReadYourWritesFilter.LAST_WRITE_HEADER, expired))
+                .andExpect(content().string(NOT_PINNED));
+    }
+
+    @Test
+    @DisplayName("Read carrying a stamp from the future isn't pinned")
+    public void get_FutureStamp_NotPinned() throws Exception {
+        String future = Long.toString(System.currentTimeMillis() + HOUR);
+
+        mockMvc.perform(get(PINNED_URL).header(ReadYourWritesFilter.LAST_WRITE_HEADER, future))
+                .andExpect(content().string(NOT_PINNED));
+        mockMvc.perform(get(PINNED_URL).header(ReadYourWritesFilter.LAST_WRITE_HEADER,
+                        Long.toString(Long.MAX_VALUE)))
+                .andExpect(content().string(NOT_PINNED));
+    }
+
+    @Test
+    @DisplayName("Read carrying a malformed stamp isn't pinned")
+    public void get_GarbageStamp_NotPinned() throws Exception {
+        mockMvc.perform(get(PINNED_URL)
+                        .header(ReadYourWritesFilter.LAST_WRITE_HEADER, GARBAGE_TOKEN))
+                .andExpect(content().string(NOT_PINNED));
+        mockMvc.perform(get(PINNED_URL)
+                        .cookie(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, GARBAGE_TOKEN)))
+                .andExpect(content().string(NOT_PINNED));
+        mockMvc.perform(get(PINNED_URL).header(ReadYourWritesFilter.LAST_WRITE_HEADER,
+                        Long.toString(Long.MIN_VALUE)))
+                .andExpect(content().string(NOT_PINNED));
+    }
+
+    @RestController
+    static class PinController {
+        static final AtomicLong WRITE_FINISHED = new AtomicLong();
+
+        @GetMapping(PINNED_URL)
+        public boolean pinned() {
+            return ReadYourWrites.isPinned();
+        }
+
+        @PostMapping(WRITES_URL)
+        public boolean write() throws InterruptedException {
+            Thread.sleep(WRITE_TIME);
+            WRITE_FINISHED.set(System.currentTimeMillis());
+            return ReadYourWrites.isPinned();
+        }
+
+        @DeleteMapping(WRITES_URL)
+        @ResponseStatus(HttpStatus.NO_CONTENT)
+        public void delete() throws InterruptedException {
+            Thread.sleep(WRITE_TIME);
+            WRITE_FINISHED.set(System.currentTimeMillis());
+        }
+    }
+}
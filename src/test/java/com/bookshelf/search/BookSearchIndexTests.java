@@ -0,0 +1,104 @@
+package com.bookshelf.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.model.Book;
+import com.bookshelf.repository.book.BookRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTests {
+    private static final Long ID_ONE = 1L;
+    private static final Long ID_TWO = 2L;
+    private static final Long ID_THREE = 3L;
+    private static final int LIMIT = 10;
+    private static final int EXPANDED_WORDS = 65;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex(bookRepository);
+        bookSearchIndex.index(createBook(ID_ONE, "The Silent Sea", "Old Sailor",
+                "A journey through the sea"));
+        bookSearchIndex.index(createBook(ID_TWO, "Mountain Stories", "Sea Captain",
+                "Stories about mountains"));
+        bookSearchIndex.index(createBook(ID_THREE, "Cooking at Home", "Famous Chef", null));
+    }
+
+    @Test
+    @DisplayName("Rank books with term in title above books with term in author")
+    public void search_TermInTitleAndAuthor_TitleMatchRankedFirst() {
+        List<Long> actual = bookSearchIndex.search("sea", LIMIT);
+
+        assertEquals(List.of(ID_ONE, ID_TWO), actual);
+    }
+
+    @Test
+    @DisplayName("Find books by prefix of the word")
+    public void search_Prefix_ReturnsMatchingBooks() {
+        List<Long> actual = bookSearchIndex.search("cook", LIMIT);
+
+        assertEquals(List.of(ID_THREE), actual);
+    }
+
+    @Test
+    @DisplayName("Find only books which match all words of the query")
+    public void search_SeveralWords_ReturnsBooksMatchingAllWords() {
+        List<Long> actual = bookSearchIndex.search("sea mount", LIMIT);
+
+        assertEquals(List.of(ID_TWO), actual);
+    }
+
+    @Test
+    @DisplayName("Don't find deleted books")
+    public void onBookChanged_DeletedBook_RemovedFromIndex() {
+        bookSearchIndex.onBookChanged(BookChangedEvent.deleted(ID_ONE));
+
+        List<Long> actual = bookSearchIndex.search("sea", LIMIT);
+
+        assertEquals(List.of(ID_TWO), actual);
+    }
+
+    @Test
+    @DisplayName("Find updated book only by its new content")
+    public void onBookChanged_UpdatedBook_ReindexedWithNewContent() {
+        bookSearchIndex.onBookChanged(BookChangedEvent.saved(
+                createBook(ID_THREE, "Baking Bread", "Famous Chef", null)));
+
+        assertTrue(bookSearchIndex.search("cooking", LIMIT).isEmpty());
+        assertEquals(List.of(ID_THREE), bookSearchIndex.search("bread", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Report a prefix which matches more words than are expanded")
+    public void isExpansionTruncated_PrefixOfManyWords_ReturnsTrue() {
+        for (long id = ID_THREE + 1; id <= ID_THREE + EXPANDED_WORDS; id++) {
+            bookSearchIndex.index(createBook(id, "Volume v" + id, "Editor", null));
+        }
+
+        assertTrue(bookSearchIndex.isExpansionTruncated("v"));
+        assertFalse(bookSearchIndex.isExpansionTruncated("v4"));
+        assertFalse(bookSearchIndex.isExpansionTruncated("sea"));
+    }
+
+    private Book createBook(Long id, String title, String author, String description) {
+        Book book = new Book(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setDescription(description);
+        return book;
+    }
+}
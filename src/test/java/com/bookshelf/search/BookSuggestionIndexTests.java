@@ -0,0 +1,118 @@
+package com.bookshelf.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.bookshelf.dto.book.response.BookSuggestionDto;
+import com.bookshelf.event.BookChangedEvent;
+import com.bookshelf.model.Book;
+import com.bookshelf.model.Category;
+import com.bookshelf.repository.book.BookRepository;
+import com.bookshelf.repository.category.CategoryRepository;
+import com.bookshelf.repository.order.OrderItemRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSuggestionIndexTests {
+    private static final Long ID_ONE = 1L;
+    private static final Long ID_TWO = 2L;
+    private static final Long ID_THREE = 3L;
+    private static final Long CATEGORY_ID = 1L;
+    private static final String CATEGORY_NAME = "Fantasy";
+    private static final String TOLKIEN = "J.R.R. Tolkien";
+    private static final String ASIMOV = "Isaac Asimov";
+    private static final String THE_HOBBIT = "The Hobbit";
+    private static final String FELLOWSHIP = "The Fellowship of the Ring";
+    private static final String FOUNDATION = "Foundation";
+    private static final int LIMIT = 10;
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSuggestionIndex = new BookSuggestionIndex(
+                bookRepository, categoryRepository, orderItemRepository);
+        Category fantasy = new Category(CATEGORY_ID);
+        fantasy.setName(CATEGORY_NAME);
+        bookSuggestionIndex.index(createBook(ID_ONE, THE_HOBBIT, TOLKIEN, Set.of(fantasy)));
+        bookSuggestionIndex.index(createBook(ID_TWO, FELLOWSHIP, TOLKIEN, Set.of(fantasy)));
+        bookSuggestionIndex.index(createBook(ID_THREE, FOUNDATION, ASIMOV, Set.of()));
+    }
+
+    @Test
+    @DisplayName("Suggest labels which start with prefix ordered by weight")
+    public void suggest_PrefixOfSeveralLabels_ReturnsLabelsOrderedByWeight() {
+        List<BookSuggestionDto> expected = List.of(
+                new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY,
+                        CATEGORY_ID, CATEGORY_NAME, 2),
+                new BookSuggestionDto(BookSuggestionDto.Type.TITLE, ID_THREE, FOUNDATION, 1),
+                new BookSuggestionDto(BookSuggestionDto.Type.TITLE, ID_TWO, FELLOWSHIP, 1));
+
+        List<BookSuggestionDto> actual = bookSuggestionIndex.suggest("f", LIMIT);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Suggest labels by prefix of a word inside the label")
+    public void suggest_PrefixOfInnerWord_ReturnsLabel() {
+        List<BookSuggestionDto> expected = List.of(
+                new BookSuggestionDto(BookSuggestionDto.Type.AUTHOR, null, TOLKIEN, 2));
+
+        List<BookSuggestionDto> actual = bookSuggestionIndex.suggest("TOLK", LIMIT);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Don't suggest labels of deleted books")
+    public void onBookChanged_DeletedBook_LabelsRemoved() {
+        bookSuggestionIndex.onBookChanged(BookChangedEvent.deleted(ID_THREE));
+
+        assertTrue(bookSuggestionIndex.suggest("asimov", LIMIT).isEmpty());
+        assertEquals(List.of(
+                        new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY,
+                                CATEGORY_ID, CATEGORY_NAME, 2),
+                        new BookSuggestionDto(BookSuggestionDto.Type.TITLE,
+                                ID_TWO, FELLOWSHIP, 1)),
+                bookSuggestionIndex.suggest("f", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Load names of unknown categories of the updated book")
+    public void onBookChanged_UnknownCategory_LoadsCategoryName() {
+        Category category = new Category(ID_TWO);
+        category.setName("Science");
+        when(categoryRepository.findAllById(List.of(ID_TWO))).thenReturn(List.of(category));
+
+        bookSuggestionIndex.onBookChanged(BookChangedEvent.saved(
+                createBook(ID_THREE, FOUNDATION, ASIMOV, Set.of(new Category(ID_TWO)))));
+
+        assertEquals(List.of(new BookSuggestionDto(BookSuggestionDto.Type.CATEGORY,
+                        ID_TWO, "Science", 1)),
+                bookSuggestionIndex.suggest("sci", LIMIT));
+    }
+
+    private Book createBook(Long id, String title, String author, Set<Category> categories) {
+        Book book = new Book(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setCategories(categories);
+        return book;
+    }
+}
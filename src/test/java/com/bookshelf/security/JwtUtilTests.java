@@ -0,0 +1,96 @@
+package com.bookshelf.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.bookshelf.model.Role;
+import com.bookshelf.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtUtilTests {
+    private static final String SECRET =
+            "theyCallMeCubanPeteImTheKingOfTheRumbaBeatWhenIPlayTheMaracasIGoChickChickyBoom";
+    private static final Long EXPIRATION = 60000L;
+    private static final Long USER_ID = 1L;
+    private static final String EMAIL = "user@gmail.com";
+    private static final long VERIFIED_CACHE_SIZE = 100;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, VERIFIED_CACHE_SIZE);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+    }
+
+    @Test
+    @DisplayName("Restore user id, email and roles from generated token")
+    public void getPrincipal_GeneratedToken_ReturnsUserFromClaims() {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setEmail(EMAIL);
+        user.setRoles(Set.of(createRole(Role.RoleName.ROLE_USER),
+                createRole(Role.RoleName.ROLE_MANAGER)));
+
+        User actual = jwtUtil.getPrincipal(jwtUtil.verify(jwtUtil.generateToken(user)));
+
+        assertEquals(USER_ID, actual.getId());
+        assertEquals(EMAIL, actual.getUsername());
+        assertEquals(Set.of(Role.RoleName.ROLE_USER.name(), Role.RoleName.ROLE_MANAGER.name()),
+                actual.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Don't restore user from token without user claims")
+    public void getPrincipal_TokenWithoutClaims_ReturnsNull() {
+        String token = Jwts.builder()
+                .setSubject(EMAIL)
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertNull(jwtUtil.getPrincipal(jwtUtil.verify(token)));
+    }
+
+    @Test
+    @DisplayName("Verify the same token only once")
+    public void verify_RepeatedToken_ReturnsCachedClaims() {
+        String token = jwtUtil.generateToken(new User());
+
+        Claims expected = jwtUtil.verify(token);
+        Claims actual = jwtUtil.verify(token);
+
+        assertSame(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Reject token with incorrect signature")
+    public void verify_TamperedToken_ExceptionThrown() {
+        String token = jwtUtil.generateToken(new User());
+
+        assertThrows(JwtException.class,
+                () -> jwtUtil.verify(token.substring(0, token.length() - 2)));
+    }
+
+    private Role createRole(Role.RoleName roleName) {
+        Role role = new Role();
+        role.setName(roleName);
+        return role;
+    }
+}
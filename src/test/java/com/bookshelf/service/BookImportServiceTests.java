@@ -0,0 +1,93 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bookshelf.dto.book.response.BookImportReportDto;
+import com.bookshelf.importing.BookImportCheckpoint;
+import com.bookshelf.importing.BookImportCheckpointStore;
+import com.bookshelf.importing.BookImportFormat;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+public class BookImportServiceTests {
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String FEED = "title,author,isbn,price,categories\n"
+            + "Updated Book,Modest Author,978-3-16-148410-0,25.00,drama\n"
+            + "Broken Book,Someone,not-an-isbn,10.00,drama\n"
+            + "New Book,New Author,978-1-23-456789-0,15.00,Drama\n"
+            + "Lost Book,Someone,978-1-23-456789-1,15.00,poetry\n";
+    private static final String SELECT_TITLE = "SELECT title FROM books WHERE isbn = ?";
+    private static final String COUNT_BOOKS = "SELECT COUNT(*) FROM books";
+    private static final String COUNT_CATEGORY_LINKS = "SELECT COUNT(*) FROM books_categories";
+    private static final String EXISTING_ISBN = "978-3-16-148410-0";
+    private static final String NEW_ISBN = "978-1-23-456789-0";
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookImportCheckpointStore checkpointStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Import upserts valid rows by ISBN and reports invalid ones")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void importBooks_MixedFeed_UpsertsValidRowsAndReportsErrors() {
+        BookImportReportDto report = bookImportService.importBooks(
+                feed(), BookImportFormat.CSV, null);
+
+        assertEquals(4, report.getProcessedRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(2, report.getFailedRows());
+        assertEquals(2L, report.getErrors().get(0).row());
+        assertEquals(4L, report.getErrors().get(1).row());
+        assertEquals("Updated Book",
+                jdbcTemplate.queryForObject(SELECT_TITLE, String.class, EXISTING_ISBN));
+        assertEquals("New Book",
+                jdbcTemplate.queryForObject(SELECT_TITLE, String.class, NEW_ISBN));
+        assertEquals(2, jdbcTemplate.queryForObject(COUNT_BOOKS, Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject(COUNT_CATEGORY_LINKS, Integer.class));
+    }
+
+    @Test
+    @DisplayName("Restarted import skips the rows committed before the checkpoint")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void importBooks_RestartedJob_ContinuesAfterCheckpoint() {
+        BookImportCheckpoint checkpoint = checkpointStore.start();
+        checkpointStore.save(new BookImportCheckpoint(checkpoint.jobId(), 2));
+
+        BookImportReportDto report = bookImportService.importBooks(
+                feed(), BookImportFormat.CSV, checkpoint.jobId());
+
+        assertEquals(2L, report.getResumedAfterRow());
+        assertEquals(2, report.getProcessedRows());
+        assertEquals(1, report.getImportedRows());
+        assertEquals("The Book",
+                jdbcTemplate.queryForObject(SELECT_TITLE, String.class, EXISTING_ISBN));
+        assertEquals("New Book",
+                jdbcTemplate.queryForObject(SELECT_TITLE, String.class, NEW_ISBN));
+    }
+
+    private InputStream feed() {
+        return new ByteArrayInputStream(FEED.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.exception.VersionMismatchException;
+import com.bookshelf.model.Book;
+import com.bookshelf.repository.book.BookRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+public class BookServiceConcurrencyTests {
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String SELECT_TITLE_AND_VERSION =
+            "SELECT CONCAT(title, ':', version) FROM books WHERE id = ?";
+    private static final String SELECT_VERSION = "SELECT version FROM books WHERE id = ?";
+    private static final Long ID_ONE = 1L;
+    private static final Long INITIAL_VERSION = 0L;
+    private static final String FIRST_TITLE = "First Title";
+    private static final String SECOND_TITLE = "Second Title";
+    private static final int WRITERS = 2;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Write of a book read before a concurrent commit fails on its version")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void saveAndFlush_ConcurrentCommitAfterRead_ConflictThrown() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                requiresNew.executeWithoutResult(loser -> {
+                    Book stale = bookRepository.findById(ID_ONE).orElseThrow();
+                    requiresNew.executeWithoutResult(winner -> {
+                        Book fresh = bookRepository.findById(ID_ONE).orElseThrow();
+                        fresh.setTitle(FIRST_TITLE);
+                        bookRepository.saveAndFlush(fresh);
+                    });
+                    stale.setTitle(SECOND_TITLE);
+                    bookRepository.saveAndFlush(stale);
+                }));
+
+        assertEquals(FIRST_TITLE + ":" + (INITIAL_VERSION + 1),
+                jdbcTemplate.queryForObject(SELECT_TITLE_AND_VERSION, String.class, ID_ONE));
+    }
+
+    @Test
+    @DisplayName("Parallel updates expecting the same version let exactly one writer win")
+    @Sql(scripts = {REMOVE_ALL_BOOKS_AND_CATEGORIES, ADD_ONE_BOOK_WITH_CATEGORY},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void update_ParallelUpdatesOfSameVersion_OneVersionMismatch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (String title : List.of(FIRST_TITLE, SECOND_TITLE)) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return bookService.update(ID_ONE, createRequest(title), INITIAL_VERSION);
+            }));
+        }
+        start.countDown();
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(VersionMismatchException.class, failures.get(0));
+        assertEquals(INITIAL_VERSION + 1,
+                jdbcTemplate.queryForObject(SELECT_VERSION, Long.class, ID_ONE));
+    }
+
+    private CreateBookRequestDto createRequest(String title) {
+        CreateBookRequestDto request = new CreateBookRequestDto();
+        request.setTitle(title);
+        request.setAuthor("Modest Author");
+        request.setIsbn("978-3-16-148410-0");
+        request.setPrice(BigDecimal.valueOf(19.95));
+        request.setDescription("Annotation");
+        request.setCoverImage("scary url");
+        request.setCategoryIds(Set.of(ID_ONE));
+        return request;
+    }
+}
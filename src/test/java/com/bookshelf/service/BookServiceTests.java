@@ -1,8 +1,13 @@
 package com.bookshelf.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
@@ -11,16 +16,23 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.bookshelf.cache.BookCache;
 import com.bookshelf.dto.book.request.BookSearchParameters;
 import com.bookshelf.dto.book.request.CreateBookRequestDto;
+import com.bookshelf.dto.book.response.BookCursorPageDto;
 import com.bookshelf.dto.book.response.BookDto;
 import com.bookshelf.dto.book.response.BookDtoWithoutCategoryIds;
 import com.bookshelf.exception.EntityNotFoundException;
+import com.bookshelf.exception.InvalidCursorException;
+import com.bookshelf.exception.VersionMismatchException;
 import com.bookshelf.mapper.BookMapper;
 import com.bookshelf.model.Book;
 import com.bookshelf.model.Category;
+import com.bookshelf.repository.book.BookKeysetCursor;
 import com.bookshelf.repository.book.BookRepository;
 import com.bookshelf.repository.book.BookSpecificationBuilder;
+import com.bookshelf.search.BookSearchIndex;
+import com.bookshelf.search.BookSuggestionIndex;
 import com.bookshelf.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -29,27 +41,37 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceTests {
     private static final String CANT_FIND_BOOK_MESSAGE = "Can't find book by id: ";
+    private static final String FIRST_PAGE_CURSOR = "";
     private static final Long ID_ONE = 1L;
     private static final Long ID_TWO = 2L;
     private static final Long ID_THREE = 3L;
     private static final Long ID_FOUR = 4L;
     private static final Long ID_FIVE = 5L;
     private static final Long INCORRECT_ID = 100L;
+    private static final Long OUTDATED_VERSION = 1L;
+    private static final long CURRENT_VERSION = 2L;
     private static final int ONCE = 1;
+    private static final int TWICE = 2;
+    private static final int CANDIDATE_BATCH = 1000;
+    private static final int SECOND_CANDIDATE_BATCH = 2000;
+    private static final long RANKED_BOOKS = 1500;
+    private static final long CACHE_SIZE = 100;
+    private static final long CACHE_EXPIRATION = 60000;
     private static final Pageable STANDART_PAGEABLE = PageRequest.of(0, 20);
     private static final Set<Category> FIRST_CATEGORY_SET =
             new HashSet<>(Set.of(new Category(ID_ONE)));
@@ -62,6 +84,14 @@ public class BookServiceTests {
     private BookMapper bookMapper;
     @Mock
     private BookSpecificationBuilder bookSpecificationBuilder;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+    @Spy
+    private BookCache bookCache = new BookCache(CACHE_SIZE, CACHE_EXPIRATION);
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookServiceImpl bookService;
@@ -281,6 +311,24 @@ public class BookServiceTests {
         verifyNoMoreInteractions(bookMapper);
     }
 
+    @Test
+    @DisplayName("Get book dto from cache on repeated request")
+    public void getById_RepeatedRequest_LoadedFromRepositoryOnce() {
+        Long bookId = ID_ONE;
+        Book book = createValidBook(bookId);
+        BookDto expected = getBookDtoFromBook(book);
+
+        when(bookRepository.findByIdWithCategories(bookId)).thenReturn(Optional.of(book));
+        when(bookMapper.toDto(book)).thenReturn(expected);
+
+        bookService.getById(bookId);
+        BookDto actual = bookService.getById(bookId);
+
+        assertEquals(expected, actual);
+        verify(bookRepository, times(ONCE)).findByIdWithCategories(bookId);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
     @Test
     @DisplayName("Try to get correct book dto with incorrect id")
     public void getById_WithInValidId_ExceptionThrown() {
@@ -319,20 +367,38 @@ public class BookServiceTests {
                     .collect(Collectors.toSet()));
             return null;
         }).when(bookMapper).setCategories(updatedBookWithoutCategories, request);
-        when(bookRepository.save(updatedBook)).thenReturn(updatedBook);
+        when(bookRepository.saveAndFlush(updatedBook)).thenReturn(updatedBook);
         when(bookMapper.toDto(updatedBook)).thenReturn(expected);
         
-        BookDto actual = bookService.update(bookId, request);
+        BookDto actual = bookService.update(bookId, request, null);
         
         assertEquals(expected, actual);
         verify(bookRepository, times(ONCE)).findByIdWithCategories(bookId);
-        verify(bookRepository, times(ONCE)).save(updatedBook);
+        verify(bookRepository, times(ONCE)).saveAndFlush(updatedBook);
         verifyNoMoreInteractions(bookRepository);
         verify(bookMapper, times(ONCE)).setCategories(updatedBookWithoutCategories, request);
         verify(bookMapper, times(ONCE)).toDto(updatedBook);
         verifyNoMoreInteractions(bookMapper);
     }
 
+    @Test
+    @DisplayName("Update book whose version differs from the expected one")
+    public void update_OutdatedExpectedVersion_ExceptionThrown() {
+        CreateBookRequestDto request = createValidCreateBookRequestDto();
+        Book book = createValidBook(ID_ONE);
+        book.setVersion(CURRENT_VERSION);
+
+        when(bookRepository.findByIdWithCategories(ID_ONE)).thenReturn(Optional.of(book));
+
+        Throwable exception = assertThrows(VersionMismatchException.class,
+                () -> bookService.update(ID_ONE, request, OUTDATED_VERSION));
+
+        assertEquals("Book 1 has version 2, expected 1", exception.getMessage());
+        verify(bookRepository, times(ONCE)).findByIdWithCategories(ID_ONE);
+        verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(bookMapper);
+    }
+
     @Test
     @DisplayName("Try to update book with incorrect id")
     public void update_WithInValidIdAndValidData_ExceptionThrown() {
@@ -342,7 +408,7 @@ public class BookServiceTests {
         when(bookRepository.findByIdWithCategories(INCORRECT_ID)).thenReturn(Optional.empty());
         
         Throwable exception = assertThrows(EntityNotFoundException.class,
-                () -> bookService.update(INCORRECT_ID, request));
+                () -> bookService.update(INCORRECT_ID, request, null));
 
         String actual = exception.getMessage();
         assertEquals(expected, actual);
@@ -355,7 +421,7 @@ public class BookServiceTests {
     @DisplayName("Find list of 0 books")
     public void findAll_NoBooksCorrectPageable_ReturnsEmptyList() {
         List<BookDto> expected = new ArrayList<>();
-        when(bookRepository.findAllWithCategories(STANDART_PAGEABLE)).thenReturn(Page.empty());
+        when(bookRepository.findAllWithCategories(STANDART_PAGEABLE)).thenReturn(List.of());
         
         List<BookDto> actual = bookService.findAll(STANDART_PAGEABLE);
 
@@ -370,12 +436,11 @@ public class BookServiceTests {
     public void findAll_OneBookCorrectPageable_ReturnsCorrectList() {
         Book book = createValidBook(ID_ONE);
         List<Book> books = List.of(book);
-        Page<Book> page = new PageImpl<>(books, STANDART_PAGEABLE, books.size());
         BookDto bookDto = getBookDtoFromBook(book);
         List<BookDto> expected = new ArrayList<>();
         expected.add(bookDto);
 
-        when(bookRepository.findAllWithCategories(STANDART_PAGEABLE)).thenReturn(page);
+        when(bookRepository.findAllWithCategories(STANDART_PAGEABLE)).thenReturn(books);
         when(bookMapper.toDto(book)).thenReturn(bookDto);
         
         List<BookDto> actual = bookService.findAll(STANDART_PAGEABLE);
@@ -387,6 +452,63 @@ public class BookServiceTests {
         verifyNoMoreInteractions(bookMapper);
     }
 
+    @Test
+    @DisplayName("Find first page of books by cursor with more books left")
+    public void findAllAfter_FirstPageWithMoreBooks_ReturnsBooksAndNextCursor() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Book book = createValidBook(ID_ONE);
+        BookDto bookDto = getBookDtoFromBook(book);
+
+        when(bookRepository.findIdsAfter(any(), any(BookKeysetCursor.class), eq(2)))
+                .thenReturn(List.of(ID_ONE, ID_TWO));
+        when(bookRepository.findAllWithCategoriesByIds(List.of(ID_ONE)))
+                .thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+
+        BookCursorPageDto actual = bookService.findAllAfter(FIRST_PAGE_CURSOR, pageable);
+
+        assertEquals(List.of(bookDto), actual.getBooks());
+        assertNotNull(actual.getNextCursor());
+        BookKeysetCursor nextCursor = BookKeysetCursor.decode(actual.getNextCursor());
+        assertEquals(ID_ONE, nextCursor.getLastId());
+        assertEquals(BookKeysetCursor.ID, nextCursor.getProperty());
+        verify(bookRepository, times(ONCE)).findIdsAfter(any(), any(BookKeysetCursor.class),
+                eq(2));
+        verify(bookRepository, times(ONCE)).findAllWithCategoriesByIds(List.of(ID_ONE));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Find last page of books by cursor")
+    public void findAllAfter_LastPage_ReturnsBooksWithoutNextCursor() {
+        Book book = createValidBook(ID_TWO);
+        BookDto bookDto = getBookDtoFromBook(book);
+        String after = BookKeysetCursor.first(STANDART_PAGEABLE.getSort())
+                .next(createValidBook(ID_ONE))
+                .encode();
+
+        when(bookRepository.findIdsAfter(any(), any(BookKeysetCursor.class), eq(21)))
+                .thenReturn(List.of(ID_TWO));
+        when(bookRepository.findAllWithCategoriesByIds(List.of(ID_TWO)))
+                .thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+
+        BookCursorPageDto actual = bookService.findAllAfter(after, STANDART_PAGEABLE);
+
+        assertEquals(List.of(bookDto), actual.getBooks());
+        assertNull(actual.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Try to find books by malformed cursor")
+    public void findAllAfter_MalformedCursor_ExceptionThrown() {
+        assertThrows(InvalidCursorException.class,
+                () -> bookService.findAllAfter("not a cursor", STANDART_PAGEABLE));
+
+        verifyNoInteractions(bookRepository);
+        verifyNoInteractions(bookMapper);
+    }
+
     @Test
     @DisplayName("Delete book with correct id")
     public void deleteById_CorrectId_Success() {
@@ -548,24 +670,94 @@ public class BookServiceTests {
         BookSearchParameters parameters = createSearchParam();
         Book book = createValidBook(ID_ONE);
         List<Book> books = List.of(book);
-        Page<Book> page = new PageImpl<>(books, STANDART_PAGEABLE, books.size());
         BookDto expectedDto = getBookDtoFromBook(book);
         List<BookDto> expected = List.of(expectedDto);
 
-        when(bookRepository.findAll(bookSpecificationBuilder.build(parameters), STANDART_PAGEABLE))
-                .thenReturn(page);
+        when(bookRepository.findAllWithCategories(
+                bookSpecificationBuilder.build(parameters), STANDART_PAGEABLE))
+                .thenReturn(books);
         when(bookMapper.toDto(book)).thenReturn(expectedDto);
 
         List<BookDto> actual = bookService.search(parameters, STANDART_PAGEABLE);
 
         assertEquals(expected, actual);
-        verify(bookRepository, times(ONCE)).findAll(
+        verify(bookRepository, times(ONCE)).findAllWithCategories(
                 bookSpecificationBuilder.build(parameters), STANDART_PAGEABLE);
         verifyNoMoreInteractions(bookRepository);
         verify(bookMapper, times(ONCE)).toDto(book);
         verifyNoMoreInteractions(bookMapper);
     }
 
+    @Test
+    @DisplayName("Find books by full-text query in ranked order")
+    public void search_WithFullTextQuery_ReturnsRankedList() {
+        BookSearchParameters parameters = new BookSearchParameters();
+        parameters.setQ("myst");
+        Book firstBook = createValidBook(ID_TWO);
+        Book secondBook = createValidBook(ID_ONE);
+        BookDto firstDto = getBookDtoFromBook(firstBook);
+        BookDto secondDto = getBookDtoFromBook(secondBook);
+
+        when(bookSearchIndex.search("myst", STANDART_PAGEABLE.getPageSize()))
+                .thenReturn(List.of(ID_TWO, ID_ONE));
+        when(bookRepository.findAllWithCategoriesByIds(List.of(ID_TWO, ID_ONE)))
+                .thenReturn(List.of(firstBook, secondBook));
+        when(bookMapper.toDto(firstBook)).thenReturn(firstDto);
+        when(bookMapper.toDto(secondBook)).thenReturn(secondDto);
+
+        List<BookDto> actual = bookService.search(parameters, STANDART_PAGEABLE);
+
+        assertEquals(List.of(firstDto, secondDto), actual);
+        verify(bookRepository, times(ONCE)).findAllWithCategoriesByIds(List.of(ID_TWO, ID_ONE));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Filter full-text results beyond the first batch of candidates")
+    public void search_WithFullTextQueryAndFilters_FiltersNextCandidates() {
+        BookSearchParameters parameters = createSearchParam();
+        parameters.setQ("myst");
+        Long lastRankedId = RANKED_BOOKS;
+        Book book = createValidBook(lastRankedId);
+        BookDto expectedDto = getBookDtoFromBook(book);
+
+        when(bookSearchIndex.search("myst", CANDIDATE_BATCH))
+                .thenReturn(rankedIds(CANDIDATE_BATCH));
+        when(bookSearchIndex.search("myst", SECOND_CANDIDATE_BATCH))
+                .thenReturn(rankedIds(RANKED_BOOKS));
+        when(bookRepository.findIds(any(), eq(Pageable.unpaged())))
+                .thenReturn(List.of())
+                .thenReturn(List.of(lastRankedId));
+        when(bookRepository.findAllWithCategoriesByIds(List.of(lastRankedId)))
+                .thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(expectedDto);
+
+        List<BookDto> actual = bookService.search(parameters, STANDART_PAGEABLE);
+
+        assertEquals(List.of(expectedDto), actual);
+        verify(bookRepository, times(TWICE)).findIds(any(), eq(Pageable.unpaged()));
+        verify(bookRepository, times(ONCE)).findAllWithCategoriesByIds(List.of(lastRankedId));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Report a full-text search whose prefix expansion was cut off")
+    public void isSearchTruncated_TruncatedPrefix_ReturnsTrue() {
+        BookSearchParameters parameters = new BookSearchParameters();
+        parameters.setQ("a");
+
+        when(bookSearchIndex.isExpansionTruncated("a")).thenReturn(true);
+
+        assertTrue(bookService.isSearchTruncated(parameters));
+        assertFalse(bookService.isSearchTruncated(createSearchParam()));
+    }
+
+    private List<Long> rankedIds(long count) {
+        return LongStream.rangeClosed(1, count)
+                .boxed()
+                .toList();
+    }
+
     private CreateBookRequestDto createValidCreateBookRequestDto() {
         CreateBookRequestDto requestDto = new CreateBookRequestDto();
         requestDto.setTitle("Book Title");
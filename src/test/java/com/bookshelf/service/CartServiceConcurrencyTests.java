@@ -0,0 +1,98 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bookshelf.dto.cart.request.CreateCartItemDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+public class CartServiceConcurrencyTests {
+    private static final String ADD_ONE_BOOK_WITH_CATEGORY =
+            "classpath:database/books/add-one-book-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String ADD_USER_WITH_EMPTY_CART =
+            "classpath:database/carts/add-one-user-with-empty-cart.sql";
+    private static final String ADD_USER_WITHOUT_CART =
+            "classpath:database/users/add-one-user.sql";
+    private static final String REMOVE_ALL_USERS_AND_CART_ITEMS =
+            "classpath:database/carts/remove-all-users-carts-items.sql";
+    private static final String COUNT_ITEMS =
+            "SELECT COUNT(*) FROM items WHERE cart_id = ? AND book_id = ?";
+    private static final String SELECT_QUANTITY =
+            "SELECT quantity FROM items WHERE cart_id = ? AND book_id = ?";
+    private static final String COUNT_CARTS = "SELECT COUNT(*) FROM carts WHERE id = ?";
+    private static final long ID_ONE = 1L;
+    private static final int THREADS = 32;
+    private static final int ADDS = 2000;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Parallel adds of the same book end up in one cart item with summed quantity")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITH_EMPTY_CART},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void createCartItem_ParallelAddsOfSameBook_QuantityIsSummed() throws Exception {
+        addInParallel(ADDS);
+
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_ITEMS, Integer.class, ID_ONE, ID_ONE));
+        assertEquals(ADDS,
+                jdbcTemplate.queryForObject(SELECT_QUANTITY, Integer.class, ID_ONE, ID_ONE));
+    }
+
+    @Test
+    @DisplayName("Parallel first adds of a user without cart create exactly one cart")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_ONE_BOOK_WITH_CATEGORY, ADD_USER_WITHOUT_CART},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void createCartItem_ParallelAddsWithoutCart_OneCartCreated() throws Exception {
+        addInParallel(THREADS);
+
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_CARTS, Integer.class, ID_ONE));
+        assertEquals(THREADS,
+                jdbcTemplate.queryForObject(SELECT_QUANTITY, Integer.class, ID_ONE, ID_ONE));
+    }
+
+    private void addInParallel(int adds) throws Exception {
+        CreateCartItemDto request = new CreateCartItemDto();
+        request.setBookId(ID_ONE);
+        request.setQuantity(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < adds; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cartService.createCartItem(ID_ONE, request);
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.bookshelf.dto.cart.response.CartDto;
+import com.bookshelf.dto.cart.response.CartItemDto;
+import com.bookshelf.repository.StatementCollector;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:tc:mysql:8:///product_test_db"
+        + "?queryInterceptors=com.bookshelf.repository.StatementCollector")
+public class CartServiceQueryCountTests {
+    private static final String ADD_THREE_BOOKS_WITH_CATEGORY =
+            "classpath:database/books/add-three-books-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String ADD_USER_WITH_CART_WITH_THREE_ITEMS =
+            "classpath:database/carts/add-one-user-with-cart-with-three-items.sql";
+    private static final String ADD_USER_WITH_EMPTY_CART =
+            "classpath:database/carts/add-one-user-with-empty-cart.sql";
+    private static final String REMOVE_ALL_USERS_AND_CART_ITEMS =
+            "classpath:database/carts/remove-all-users-carts-items.sql";
+    private static final Long ID_ONE = 1L;
+    private static final int THREE_ITEMS = 3;
+    private static final int ONE_STATEMENT = 1;
+    private static final int TWO_STATEMENTS = 2;
+
+    @Autowired
+    private CartService cartService;
+
+    @Test
+    @DisplayName("Cart with several items is read with a single statement")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY, ADD_USER_WITH_CART_WITH_THREE_ITEMS},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getCartInfo_CartWithThreeItems_OneStatement() {
+        StatementCollector.start();
+        CartDto actual = cartService.getCartInfo(ID_ONE);
+        List<String> statements = StatementCollector.tableSelects(StatementCollector.stop());
+
+        assertEquals(ONE_STATEMENT, statements.size(), String.join("\n", statements));
+        assertEquals(ID_ONE, actual.getUserId());
+        assertEquals(THREE_ITEMS, actual.getCartItems().size());
+        for (CartItemDto item : actual.getCartItems()) {
+            assertNotNull(item.getBookTitle());
+            assertNotNull(item.getBookPrice());
+        }
+    }
+
+    @Test
+    @DisplayName("Empty cart is read with a constant number of statements")
+    @Sql(scripts = {REMOVE_ALL_USERS_AND_CART_ITEMS, ADD_USER_WITH_EMPTY_CART},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_USERS_AND_CART_ITEMS,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void getCartInfo_EmptyCart_TwoStatements() {
+        StatementCollector.start();
+        CartDto actual = cartService.getCartInfo(ID_ONE);
+        List<String> statements = StatementCollector.tableSelects(StatementCollector.stop());
+
+        assertEquals(TWO_STATEMENTS, statements.size(), String.join("\n", statements));
+        assertEquals(ID_ONE, actual.getId());
+        assertEquals(0, actual.getCartItems().size());
+    }
+}
@@ -3,6 +3,8 @@ package com.bookshelf.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -15,7 +17,7 @@ import com.bookshelf.dto.cart.response.CartDto;
 import com.bookshelf.dto.cart.response.CartItemDto;
 import com.bookshelf.dto.cart.response.CartItemDtoResponse;
 import com.bookshelf.exception.EntityNotFoundException;
-import com.bookshelf.mapper.BookMapper;
+import com.bookshelf.exception.VersionMismatchException;
 import com.bookshelf.mapper.CartItemMapper;
 import com.bookshelf.mapper.CartMapper;
 import com.bookshelf.model.Book;
@@ -29,6 +31,7 @@ import com.bookshelf.repository.user.UserRepository;
 import com.bookshelf.service.impl.CartServiceImpl;
 import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -45,6 +48,8 @@ public class CartServiceTests {
     private static final String CANT_FIND_CART_ITEM_MESSAGE = "Can't find cart item by id: ";
     private static final Long ID_ONE = 1L;
     private static final Long ID_INVALID = 42L;
+    private static final Long OUTDATED_VERSION = 1L;
+    private static final long CURRENT_VERSION = 2L;
     private static final int ONCE = 1;
     private static final int TWICE = 2;
     private static final Set<Category> FIRST_CATEGORY_SET =
@@ -57,8 +62,6 @@ public class CartServiceTests {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private BookMapper bookMapper;
-    @Mock
     private BookService bookService;
     @Mock
     private CartItemMapper cartItemMapper;
@@ -79,17 +82,19 @@ public class CartServiceTests {
         User user = createUser();
         expectedCart.setUser(user);
         CartDto expected = mapCartDtoFromCart(expectedCart);
+        List<CartItemDto> cartItems = List.copyOf(expected.getCartItems());
+
+        when(cartItemRepository.findCartItemDtos(userId)).thenReturn(cartItems);
+        when(cartMapper.toCartDto(userId, cartItems)).thenReturn(expected);
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
-        when(cartMapper.toCartDto(expectedCart)).thenReturn(expected);
-        
         CartDto actual = cartService.getCartInfo(userId);
 
         assertEquals(expected, actual);
         assertEquals(expected.getCartItems(), actual.getCartItems());
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
-        verify(cartMapper, times(ONCE)).toCartDto(expectedCart);
+        verify(cartItemRepository, times(ONCE)).findCartItemDtos(userId);
+        verifyNoMoreInteractions(cartItemRepository);
+        verifyNoInteractions(cartRepository);
+        verify(cartMapper, times(ONCE)).toCartDto(userId, cartItems);
         verifyNoMoreInteractions(cartMapper);
     }
 
@@ -102,20 +107,23 @@ public class CartServiceTests {
         User user = createUser();
         expectedCart.setUser(user);
         CartDto expected = mapCartDtoFromCart(expectedCart);
+        List<CartItemDto> cartItems = List.of();
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.empty());
+        when(cartItemRepository.findCartItemDtos(userId)).thenReturn(cartItems);
+        when(cartRepository.existsById(userId)).thenReturn(false);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(cartRepository.save(expectedCart)).thenReturn(expectedCart);
-        when(cartMapper.toCartDto(expectedCart)).thenReturn(expected);
-        
+        when(cartMapper.toCartDto(userId, cartItems)).thenReturn(expected);
+
         CartDto actual = cartService.getCartInfo(userId);
-        
+
         assertEquals(expected, actual);
         assertEquals(expected.getCartItems(), actual.getCartItems());
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
+        verify(cartItemRepository, times(ONCE)).findCartItemDtos(userId);
+        verify(cartRepository, times(ONCE)).existsById(userId);
         verify(cartRepository, times(ONCE)).save(expectedCart);
         verifyNoMoreInteractions(cartRepository);
-        verify(cartMapper, times(ONCE)).toCartDto(expectedCart);
+        verify(cartMapper, times(ONCE)).toCartDto(userId, cartItems);
         verifyNoMoreInteractions(cartMapper);
     }
 
@@ -123,19 +131,19 @@ public class CartServiceTests {
     @DisplayName("Try to get a cart by non existing user")
     public void getCartInfo_GetCartFromNonExistingUserId_ExceptionThrown() {
         Long userId = ID_INVALID;
-        String expected = CANT_FIND_USER_MESSAGE + ID_INVALID;
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.empty());
+        when(cartItemRepository.findCartItemDtos(userId)).thenReturn(List.of());
+        when(cartRepository.existsById(userId)).thenReturn(false);
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
-        
+
         Throwable exception = assertThrows(EntityNotFoundException.class,
                 () -> cartService.getCartInfo(ID_INVALID));
 
+        String expected = CANT_FIND_USER_MESSAGE + ID_INVALID;
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
+        verify(cartRepository, times(ONCE)).existsById(userId);
         verify(userRepository, times(ONCE)).findById(userId);
         verifyNoMoreInteractions(cartRepository);
-        verifyNoInteractions(bookMapper);
     }
 
     @Test
@@ -144,63 +152,81 @@ public class CartServiceTests {
         Long userId = ID_ONE;
         ShoppingCart expectedCart = new ShoppingCart();
         expectedCart.setId(userId);
-        User user = createUser();
-        expectedCart.setUser(user);
+        expectedCart.setUser(createUser());
         CartItem expectedItem = createCartItem(expectedCart);
-        expectedItem.setId(null);
-        Book book = createValidBook();
         CartItemDtoResponse expected = mapCartItemToResponse(expectedItem);
         CreateCartItemDto request = createCartItemDto();
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
-        doNothing().when(bookService).checkBookById(book.getId());
-        when(bookMapper.bookFromId(request.getBookId())).thenReturn(book);
-        when(cartItemRepository.save(expectedItem)).thenReturn(expectedItem);
+        doNothing().when(bookService).checkBookById(request.getBookId());
+        when(cartRepository.existsById(userId)).thenReturn(true);
+        when(cartItemRepository.addQuantity(userId, request.getBookId(), request.getQuantity()))
+                .thenReturn(ONCE);
+        when(cartItemRepository.findByShoppingCart_IdAndBook_Id(userId, request.getBookId()))
+                .thenReturn(Optional.of(expectedItem));
         when(cartItemMapper.toCreateDtoResponse(expectedItem)).thenReturn(expected);
 
         CartItemDtoResponse actual = cartService.createCartItem(userId, request);
 
         assertEquals(expected, actual);
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
+        verify(cartRepository, times(ONCE)).existsById(userId);
+        verify(cartRepository, times(ONCE)).createOrLock(userId);
         verifyNoMoreInteractions(cartRepository);
-        verify(cartItemRepository, times(ONCE)).save(expectedItem);
+        verify(cartItemRepository, times(ONCE))
+                .addQuantity(userId, request.getBookId(), request.getQuantity());
+        verify(cartItemRepository, times(ONCE))
+                .findByShoppingCart_IdAndBook_Id(userId, request.getBookId());
         verifyNoMoreInteractions(cartItemRepository);
-        verify(bookMapper, times(ONCE)).bookFromId(request.getBookId());
-        verifyNoMoreInteractions(bookMapper);
+        verifyNoInteractions(userRepository);
         verify(cartItemMapper, times(ONCE)).toCreateDtoResponse(expectedItem);
         verifyNoMoreInteractions(cartItemMapper);
     }
 
     @Test
-    @DisplayName("Try to create cart item with valid cart, user and existing book")
-    public void createCartItem_ExistingBook_ReturnsCartItemDtoResponse() {
+    @DisplayName("Create cart item for user without cart creates the cart first")
+    public void createCartItem_UserWithoutCart_CreatesCartAndReturnsCartItemDtoResponse() {
         Long userId = ID_ONE;
+        User user = createUser();
         ShoppingCart expectedCart = new ShoppingCart();
         expectedCart.setId(userId);
-        User user = createUser();
         expectedCart.setUser(user);
-        CreateCartItemDto request = createCartItemDto();
-        CartItem existingItem = createCartItem(expectedCart);
-        existingItem.setQuantity(5);
-        expectedCart.setCartItems(new HashSet<>(Set.of(existingItem)));
         CartItem expectedItem = createCartItem(expectedCart);
-        expectedItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
         CartItemDtoResponse expected = mapCartItemToResponse(expectedItem);
+        CreateCartItemDto request = createCartItemDto();
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
-        when(cartItemRepository.save(expectedItem)).thenReturn(expectedItem);
+        doNothing().when(bookService).checkBookById(request.getBookId());
+        when(cartRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(cartRepository.createOrLock(userId)).thenReturn(ONCE);
+        when(cartItemRepository.addQuantity(userId, request.getBookId(), request.getQuantity()))
+                .thenReturn(ONCE);
+        when(cartItemRepository.findByShoppingCart_IdAndBook_Id(userId, request.getBookId()))
+                .thenReturn(Optional.of(expectedItem));
         when(cartItemMapper.toCreateDtoResponse(expectedItem)).thenReturn(expected);
 
         CartItemDtoResponse actual = cartService.createCartItem(userId, request);
 
         assertEquals(expected, actual);
-        verify(cartRepository, times(TWICE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
-        verify(cartItemRepository, times(ONCE)).save(expectedItem);
-        verifyNoMoreInteractions(cartItemRepository);
-        verifyNoInteractions(bookMapper);
-        verify(cartItemMapper, times(ONCE)).toCreateDtoResponse(expectedItem);
-        verifyNoMoreInteractions(cartItemMapper);
+        verify(cartRepository, times(ONCE)).createOrLock(userId);
+        verify(userRepository, times(ONCE)).findById(userId);
+        verify(cartItemRepository, times(ONCE))
+                .addQuantity(userId, request.getBookId(), request.getQuantity());
+    }
+
+    @Test
+    @DisplayName("Try to create cart item with invalid book")
+    public void createCartItem_InvalidBook_ExceptionThrown() {
+        Long userId = ID_ONE;
+        CreateCartItemDto request = createCartItemDto();
+        String expected = "Can't find book by id " + request.getBookId();
+
+        doThrow(new EntityNotFoundException(expected))
+                .when(bookService).checkBookById(request.getBookId());
+
+        Throwable exception = assertThrows(EntityNotFoundException.class,
+                () -> cartService.createCartItem(userId, request));
+
+        assertEquals(expected, exception.getMessage());
+        verifyNoInteractions(cartRepository, cartItemRepository);
     }
 
     @Test
@@ -219,23 +245,48 @@ public class CartServiceTests {
         expectedItem.setQuantity(request.getQuantity());
         CartItemDtoResponse expected = mapCartItemToResponse(expectedItem);
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
-        when(cartItemRepository.save(expectedItem)).thenReturn(expectedItem);
+        when(cartItemRepository.findByIdAndShoppingCart_Id(existingItem.getId(), userId))
+                .thenReturn(Optional.of(existingItem));
+        when(cartItemRepository.saveAndFlush(expectedItem)).thenReturn(expectedItem);
         when(cartItemMapper.toCreateDtoResponse(expectedItem)).thenReturn(expected);
 
         CartItemDtoResponse actual = cartService.updateCartItem(
                 userId, existingItem.getId(), request);
 
         assertEquals(expected, actual);
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
-        verify(cartItemRepository, times(ONCE)).save(expectedItem);
+        verifyNoInteractions(cartRepository);
+        verify(cartItemRepository, times(ONCE))
+                .findByIdAndShoppingCart_Id(existingItem.getId(), userId);
+        verify(cartItemRepository, times(ONCE)).saveAndFlush(expectedItem);
         verifyNoMoreInteractions(cartItemRepository);
-        verifyNoInteractions(bookMapper);
         verify(cartItemMapper, times(ONCE)).toCreateDtoResponse(expectedItem);
         verifyNoMoreInteractions(cartItemMapper);
     }
 
+    @Test
+    @DisplayName("Update cart item whose version differs from the expected one")
+    public void updateCartItem_OutdatedVersion_ExceptionThrown() {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setId(ID_ONE);
+        CartItem existingItem = createCartItem(cart);
+        existingItem.setVersion(CURRENT_VERSION);
+        PutCartItemDto request = new PutCartItemDto();
+        request.setQuantity(5);
+        request.setVersion(OUTDATED_VERSION);
+
+        when(cartItemRepository.findByIdAndShoppingCart_Id(existingItem.getId(), ID_ONE))
+                .thenReturn(Optional.of(existingItem));
+
+        Throwable exception = assertThrows(VersionMismatchException.class,
+                () -> cartService.updateCartItem(ID_ONE, existingItem.getId(), request));
+
+        assertEquals("Cart item 1 has version 2, expected 1", exception.getMessage());
+        verify(cartItemRepository, times(ONCE))
+                .findByIdAndShoppingCart_Id(existingItem.getId(), ID_ONE);
+        verifyNoMoreInteractions(cartItemRepository);
+        verifyNoInteractions(cartItemMapper);
+    }
+
     @Test
     @DisplayName("Delete cart item with correct id")
     public void removeCartItem_CorrectId_Success() {
@@ -247,16 +298,16 @@ public class CartServiceTests {
         User user = createUser();
         expectedCart.setUser(user);
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
+        when(cartItemRepository.findByIdAndShoppingCart_Id(ID_ONE, userId))
+                .thenReturn(Optional.of(expectedItem));
         doNothing().when(cartItemRepository).delete(expectedItem);
         
         cartService.removeCartItem(userId, ID_ONE);
         
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
+        verifyNoInteractions(cartRepository);
+        verify(cartItemRepository, times(ONCE)).findByIdAndShoppingCart_Id(ID_ONE, userId);
         verify(cartItemRepository, times(ONCE)).delete(expectedItem);
         verifyNoMoreInteractions(cartItemRepository);
-        verifyNoInteractions(bookMapper);
     }
 
     @Test
@@ -271,74 +322,62 @@ public class CartServiceTests {
         expectedCart.setUser(user);
         String expected = CANT_FIND_CART_ITEM_MESSAGE + ID_INVALID;
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
+        when(cartItemRepository.findByIdAndShoppingCart_Id(ID_INVALID, userId))
+                .thenReturn(Optional.empty());
         
         Throwable exception = assertThrows(EntityNotFoundException.class,
                 () -> cartService.removeCartItem(userId, ID_INVALID));
         
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
-        verifyNoInteractions(bookMapper);
+        verifyNoInteractions(cartRepository);
+        verify(cartItemRepository, never()).delete(expectedItem);
     }
 
     @Test
     @DisplayName("Try to delete item with incorrect user id")
     public void removeCartItem_IncorrectUserId_ExceptionThrown() {
         Long userId = ID_INVALID;
-        String expected = CANT_FIND_USER_MESSAGE + ID_INVALID;
+        String expected = CANT_FIND_CART_ITEM_MESSAGE + ID_ONE;
 
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.empty());
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(cartItemRepository.findByIdAndShoppingCart_Id(ID_ONE, userId))
+                .thenReturn(Optional.empty());
         
         Throwable exception = assertThrows(EntityNotFoundException.class,
                 () -> cartService.removeCartItem(userId, ID_ONE));
         
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
-        verify(userRepository, times(ONCE)).findById(userId);
-        verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(bookMapper);
+        verify(cartItemRepository, times(ONCE)).findByIdAndShoppingCart_Id(ID_ONE, userId);
+        verifyNoMoreInteractions(cartItemRepository);
+        verifyNoInteractions(cartRepository, userRepository);
     }
 
     @Test
-    @DisplayName("Clear cart by correct user id")
+    @DisplayName("Clear cart by correct user id with a single bulk delete")
     public void clearCart_CorrectUserId_Success() {
         Long userId = ID_ONE;
-        ShoppingCart expectedCart = new ShoppingCart();
-        expectedCart.setId(userId);
-        User user = createUser();
-        expectedCart.setUser(user);
 
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(cartRepository.getShoppingCartByUser_Id(userId)).thenReturn(Optional.of(expectedCart));
-        doNothing().when(cartItemRepository).deleteAllByShoppingCart(expectedCart);
+        when(cartItemRepository.deleteAllByCartId(userId)).thenReturn(TWICE);
 
         cartService.clearCart(userId);
 
-        verify(cartRepository, times(ONCE)).getShoppingCartByUser_Id(userId);
-        verifyNoMoreInteractions(cartRepository);
+        verify(cartItemRepository, times(ONCE)).deleteAllByCartId(userId);
+        verifyNoMoreInteractions(cartItemRepository);
+        verifyNoInteractions(cartRepository, userRepository);
     }
 
     @Test
-    @DisplayName("Try to clear cart by incorrect user id")
-    public void clearCart_IncorrectUserId_ExceptionThrown() {
+    @DisplayName("Clear cart without items deletes nothing")
+    public void clearCart_EmptyCart_NothingDeleted() {
         Long userId = ID_INVALID;
-        String expected = CANT_FIND_USER_MESSAGE + ID_INVALID;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(cartItemRepository.deleteAllByCartId(userId)).thenReturn(0);
 
-        Throwable exception = assertThrows(EntityNotFoundException.class,
-                () -> cartService.clearCart(userId));
+        cartService.clearCart(userId);
 
-        String actual = exception.getMessage();
-        assertEquals(expected, actual);
-        verify(userRepository, times(ONCE)).existsById(userId);
-        verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(cartItemRepository);
+        verify(cartItemRepository, times(ONCE)).deleteAllByCartId(userId);
+        verifyNoInteractions(cartRepository, userRepository);
     }
 
     private Book createValidBook() {
@@ -394,6 +433,7 @@ public class CartServiceTests {
                     itemDto.setQuantity(i.getQuantity());
                     itemDto.setBookId(i.getBook().getId());
                     itemDto.setBookTitle(i.getBook().getTitle());
+                    itemDto.setBookPrice(i.getBook().getPrice());
                     return itemDto;
                 })
                 .collect(Collectors.toSet())
@@ -14,6 +14,7 @@ import com.bookshelf.dto.category.response.CategoryDto;
 import com.bookshelf.exception.EntityNotFoundException;
 import com.bookshelf.mapper.CategoryMapper;
 import com.bookshelf.model.Category;
+import com.bookshelf.repository.book.BookRepository;
 import com.bookshelf.repository.category.CategoryRepository;
 import com.bookshelf.service.impl.CategoryServiceImpl;
 import java.util.ArrayList;
@@ -25,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -41,7 +43,11 @@ public class CategoryServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
     @Mock
+    private BookRepository bookRepository;
+    @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CategoryServiceImpl categoryService;
@@ -116,14 +122,14 @@ public class CategoryServiceTests {
         CategoryDto expected = getCategoryDtoFromCategory(updatedCategory);
 
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-        when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
+        when(categoryRepository.saveAndFlush(updatedCategory)).thenReturn(updatedCategory);
         when(categoryMapper.toDto(updatedCategory)).thenReturn(expected);
         
         CategoryDto actual = categoryService.update(categoryId, request);
         
         assertEquals(expected, actual);
         verify(categoryRepository, times(ONCE)).findById(categoryId);
-        verify(categoryRepository, times(ONCE)).save(updatedCategory);
+        verify(categoryRepository, times(ONCE)).saveAndFlush(updatedCategory);
         verifyNoMoreInteractions(categoryRepository);
         verify(categoryMapper, times(ONCE)).toDto(updatedCategory);
         verifyNoMoreInteractions(categoryMapper);
@@ -194,6 +200,7 @@ public class CategoryServiceTests {
         categoryService.deleteById(categoryId);
         
         verify(categoryRepository, times(ONCE)).existsById(categoryId);
+        verify(bookRepository, times(ONCE)).incrementVersionsByCategoryId(categoryId);
         verify(categoryRepository, times(ONCE)).deleteById(categoryId);
         verifyNoMoreInteractions(categoryRepository);
         verifyNoInteractions(categoryMapper);
@@ -0,0 +1,56 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bookshelf.dto.order.request.ShippingAddressRequestDto;
+import com.bookshelf.dto.order.response.OrderDto;
+import com.bookshelf.repository.StatementCollector;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:tc:mysql:8:///product_test_db"
+        + "?queryInterceptors=com.bookshelf.repository.StatementCollector")
+public class OrderServiceQueryCountTests {
+    private static final String ADD_THREE_BOOKS_WITH_CATEGORY =
+            "classpath:database/books/add-three-books-with-first-category.sql";
+    private static final String REMOVE_ALL_BOOKS_AND_CATEGORIES =
+            "classpath:database/books/remove-all-books-and-categories.sql";
+    private static final String ADD_USER_WITH_CART_WITH_THREE_ITEMS =
+            "classpath:database/carts/add-one-user-with-cart-with-three-items.sql";
+    private static final String REMOVE_ALL_USERS_ORDERS_AND_CARTS =
+            "classpath:database/orders/remove-all-users-orders-carts.sql";
+    private static final Long ID_ONE = 1L;
+    private static final int THREE_ITEMS = 3;
+    private static final int ONE_STATEMENT = 1;
+    private static final BigDecimal TOTAL = new BigDecimal("197.45");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("Checkout of a cart with several items reads it with a single statement")
+    @Sql(scripts = {REMOVE_ALL_USERS_ORDERS_AND_CARTS, REMOVE_ALL_BOOKS_AND_CATEGORIES,
+            ADD_THREE_BOOKS_WITH_CATEGORY, ADD_USER_WITH_CART_WITH_THREE_ITEMS},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {REMOVE_ALL_USERS_ORDERS_AND_CARTS, REMOVE_ALL_BOOKS_AND_CATEGORIES},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void createOrder_CartWithThreeItems_OneStatement() {
+        ShippingAddressRequestDto request = new ShippingAddressRequestDto();
+        request.setShippingAddress("Ukraine");
+
+        StatementCollector.start();
+        OrderDto actual = orderService.createOrder(ID_ONE, request);
+        List<String> statements = StatementCollector.tableSelects(StatementCollector.stop());
+
+        assertEquals(ONE_STATEMENT, statements.size(), String.join("\n", statements));
+        assertEquals(THREE_ITEMS, actual.getOrderItems().size());
+        assertEquals(0, TOTAL.compareTo(actual.getTotal()));
+    }
+}
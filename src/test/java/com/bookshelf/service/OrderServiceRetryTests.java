@@ -0,0 +1,108 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.bookshelf.dto.order.request.StatusRequestDto;
+import com.bookshelf.dto.order.response.OrderDto;
+import com.bookshelf.exception.VersionMismatchException;
+import com.bookshelf.model.Order;
+import com.bookshelf.repository.order.OrderRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "retry.conflict.max-attempts=3",
+        "retry.conflict.delay=1",
+        "retry.conflict.max-delay=2"
+})
+public class OrderServiceRetryTests {
+    private static final Long ID_ONE = 1L;
+    private static final String SHIPPED = "shipped";
+    private static final int TWICE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int ONCE = 1;
+    private static final Long OUTDATED_VERSION = 1L;
+    private static final long CURRENT_VERSION = 2L;
+
+    @MockBean
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("Status update is retried after a concurrent modification")
+    public void updateStatus_ConcurrentModification_RetriedAndUpdated() {
+        Order order = createOrder();
+        when(orderRepository.findById(ID_ONE)).thenReturn(Optional.of(order));
+        when(orderRepository.saveAndFlush(order))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, ID_ONE))
+                .thenReturn(order);
+
+        OrderDto actual = orderService.updateStatus(ID_ONE, createStatusRequest());
+
+        assertEquals(Order.Status.SHIPPED, actual.getStatus());
+        verify(orderRepository, times(TWICE)).findById(ID_ONE);
+        verify(orderRepository, times(TWICE)).save(order);
+    }
+
+    @Test
+    @DisplayName("Status update gives up after the configured number of conflicts")
+    public void updateStatus_PersistentConflict_ExceptionThrown() {
+        Order order = createOrder();
+        when(orderRepository.findById(ID_ONE)).thenReturn(Optional.of(order));
+        when(orderRepository.saveAndFlush(order))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, ID_ONE));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> orderService.updateStatus(ID_ONE, createStatusRequest()));
+
+        verify(orderRepository, times(MAX_ATTEMPTS)).save(order);
+    }
+
+    @Test
+    @DisplayName("Status update with an outdated version fails at once without a retry")
+    public void updateStatus_OutdatedVersion_NotRetried() {
+        Order order = createOrder();
+        order.setVersion(CURRENT_VERSION);
+        when(orderRepository.findById(ID_ONE)).thenReturn(Optional.of(order));
+        StatusRequestDto request = createStatusRequest();
+        request.setVersion(OUTDATED_VERSION);
+
+        assertThrows(VersionMismatchException.class,
+                () -> orderService.updateStatus(ID_ONE, request));
+
+        verify(orderRepository, times(ONCE)).findById(ID_ONE);
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    private Order createOrder() {
+        Order order = new Order();
+        order.setId(ID_ONE);
+        order.setStatus(Order.Status.PENDING);
+        order.setTotal(BigDecimal.TEN);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("Ukraine");
+        return order;
+    }
+
+    private StatusRequestDto createStatusRequest() {
+        StatusRequestDto request = new StatusRequestDto();
+        request.setStatus(SHIPPED);
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.bookshelf.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.bookshelf.dto.order.response.OrderSummaryDto;
+import com.bookshelf.dto.order.response.OrderSummaryPageDto;
+import com.bookshelf.exception.InvalidCursorException;
+import com.bookshelf.mapper.OrderItemMapper;
+import com.bookshelf.mapper.OrderMapper;
+import com.bookshelf.model.Order;
+import com.bookshelf.repository.cart.CartRepository;
+import com.bookshelf.repository.cart.item.CartItemRepository;
+import com.bookshelf.repository.order.OrderItemRepository;
+import com.bookshelf.repository.order.OrderKeysetCursor;
+import com.bookshelf.repository.order.OrderRepository;
+import com.bookshelf.repository.user.UserRepository;
+import com.bookshelf.service.impl.OrderServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServiceTests {
+    private static final Long USER_ID = 1L;
+    private static final int ONCE = 1;
+    private static final int PAGE_SIZE = 2;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int OVERSIZED_PAGE = 500;
+    private static final String INVALID_CURSOR = "not-a-cursor";
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2023, 9, 1, 10, 0);
+
+    @Mock
+    private CartRepository cartRepository;
+    @Mock
+    private CartItemRepository cartItemRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderItemMapper orderItemMapper;
+    @Mock
+    private OrderMapper orderMapper;
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Test
+    @DisplayName("Page of history is fetched with one extra row and capped at max page size")
+    public void getHistory_OversizedPage_ClampedToMaxPageSize() {
+        List<OrderSummaryDto> summaries = createSummaries(MAX_PAGE_SIZE);
+        when(orderRepository.findSummaries(USER_ID, PageRequest.of(0, MAX_PAGE_SIZE + 1)))
+                .thenReturn(summaries);
+
+        OrderSummaryPageDto actual = orderService.getHistory(
+                USER_ID, null, PageRequest.of(0, OVERSIZED_PAGE));
+
+        assertEquals(summaries, actual.getOrders());
+        assertNull(actual.getNextCursor());
+        verify(orderRepository, times(ONCE))
+                .findSummaries(USER_ID, PageRequest.of(0, MAX_PAGE_SIZE + 1));
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Extra row is dropped and the cursor points at the last returned order")
+    public void getHistory_MoreOrdersThanPage_ReturnsNextCursor() {
+        List<OrderSummaryDto> summaries = createSummaries(PAGE_SIZE + 1);
+        when(orderRepository.findSummaries(USER_ID, PageRequest.of(0, PAGE_SIZE + 1)))
+                .thenReturn(summaries);
+
+        OrderSummaryPageDto actual = orderService.getHistory(
+                USER_ID, "", PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(summaries.subList(0, PAGE_SIZE), actual.getOrders());
+        assertEquals(OrderKeysetCursor.after(summaries.get(PAGE_SIZE - 1)).encode(),
+                actual.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Cursor is decoded into the date and id to seek after")
+    public void getHistory_WithCursor_SeeksAfterCursor() {
+        List<OrderSummaryDto> summaries = createSummaries(PAGE_SIZE + 1);
+        OrderSummaryDto last = summaries.get(PAGE_SIZE);
+        String cursor = OrderKeysetCursor.after(last).encode();
+        when(orderRepository.findSummariesAfter(USER_ID, last.orderDate(), last.id(),
+                PageRequest.of(0, PAGE_SIZE + 1))).thenReturn(List.of());
+
+        OrderSummaryPageDto actual = orderService.getHistory(
+                USER_ID, cursor, PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(List.of(), actual.getOrders());
+        assertNull(actual.getNextCursor());
+        verify(orderRepository, times(ONCE)).findSummariesAfter(USER_ID, last.orderDate(),
+                last.id(), PageRequest.of(0, PAGE_SIZE + 1));
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Malformed cursor is rejected before any query")
+    public void getHistory_InvalidCursor_ExceptionThrown() {
+        assertThrows(InvalidCursorException.class, () -> orderService.getHistory(
+                USER_ID, INVALID_CURSOR, PageRequest.of(0, PAGE_SIZE)));
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    private List<OrderSummaryDto> createSummaries(int count) {
+        List<OrderSummaryDto> summaries = new ArrayList<>(count);
+        for (long id = count; id > 0; id--) {
+            summaries.add(new OrderSummaryDto(id, FIRST_DAY.plusDays(id),
+                    Order.Status.PENDING, BigDecimal.TEN, 1L));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,2 @@
+insert into categories(id, name, description, is_deleted) values (2, 'biography', 'about Person', false);
+insert into books_categories(book_id, category_id) values (1, 2);
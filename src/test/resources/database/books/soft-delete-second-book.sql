@@ -0,0 +1 @@
+update books set is_deleted = true where id = 2;
@@ -0,0 +1,9 @@
+insert into users (id, email, password, first_name, last_name, shipping_address, is_deleted) values (1, 'test@mail.com', 'test_password', 'test_name', 'test_last_name', 'Ukraine', false);
+insert into users_roles (user_id, role_id) values (1, 1);
+insert into orders (id, user_id, status_id, total, date, address, is_deleted) values (1, 1, 0, 40.00, '2023-09-01 10:00:00', 'Ukraine', false);
+insert into orders (id, user_id, status_id, total, date, address, is_deleted) values (2, 1, 1, 20.00, '2023-09-02 10:00:00', 'Ukraine', false);
+insert into orders (id, user_id, status_id, total, date, address, is_deleted) values (3, 1, 2, 60.00, '2023-09-02 10:00:00', 'Ukraine', false);
+insert into order_items (id, order_id, book_id, quantity, price) values (1, 1, 1, 2, 20.00);
+insert into order_items (id, order_id, book_id, quantity, price) values (2, 2, 1, 1, 20.00);
+insert into order_items (id, order_id, book_id, quantity, price) values (3, 3, 1, 1, 20.00);
+insert into order_items (id, order_id, book_id, quantity, price) values (4, 3, 1, 2, 20.00);
@@ -0,0 +1,6 @@
+delete from order_items;
+delete from orders;
+delete from users_roles;
+delete from items;
+delete from carts;
+delete from users;
@@ -0,0 +1,4 @@
+delete from order_items;
+delete from orders;
+delete from users_roles;
+delete from users;
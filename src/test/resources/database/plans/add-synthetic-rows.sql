@@ -0,0 +1,9 @@
+insert into books (id, title, author, isbn, price, description, cover_image, is_deleted) with recursive seq (n) as (select 2 union all select n + 1 from seq where n < 1000) select n, concat('Title ', n), concat('Author ', n % 100), concat('isbn-', n), n % 50 + 1, 'Annotation', 'url', n % 10 = 0 from seq;
+insert into books_categories (book_id, category_id) with recursive seq (n) as (select 2 union all select n + 1 from seq where n < 1000) select n, 1 from seq;
+insert into users (id, email, password, first_name, last_name, shipping_address, is_deleted) with recursive seq (n) as (select 2 union all select n + 1 from seq where n < 1000) select n, concat('user', n, '@mail.com'), 'password', 'name', 'last_name', 'Ukraine', false from seq;
+insert into users_roles (user_id, role_id) with recursive seq (n) as (select 2 union all select n + 1 from seq where n < 1000) select n, 1 from seq;
+insert into carts (id, user_id) with recursive seq (n) as (select 2 union all select n + 1 from seq where n < 1000) select n, n from seq;
+insert into items (id, cart_id, book_id, quantity) with recursive seq (n) as (select 2 union all select n + 1 from seq where n < 1000) select n, n, n, 1 from seq;
+insert into orders (id, user_id, status_id, total, date, address, is_deleted) with recursive seq (n) as (select 1 union all select n + 1 from seq where n < 1000) select n, n, 0, 20.00, timestamp('2023-09-01') + interval n minute, 'Ukraine', false from seq;
+insert into order_items (id, order_id, book_id, quantity, price) with recursive seq (n) as (select 1 union all select n + 1 from seq where n < 1000) select n, n, n, 1, 20.00 from seq;
+analyze table books, books_categories, categories, users, users_roles, carts, items, orders, order_items;